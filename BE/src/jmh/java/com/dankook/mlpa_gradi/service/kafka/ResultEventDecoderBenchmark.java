@@ -0,0 +1,89 @@
+package com.dankook.mlpa_gradi.service.kafka;
+
+import com.dankook.mlpa_gradi.dto.event.ResultEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결과 토픽 메시지 디코딩 비교
+ * - mapLookup: 기존 방식 (readValue(Map) 후 camelCase/snake_case getOrDefault 조회)
+ * - streaming: ResultEventDecoder (JsonParser 한 번 순회, 모르는 필드는 skip)
+ *   answer_result는 저장용 payload Map까지 만드는 비용이 포함되어 리스너가 레코드당 하는 파싱 전체와 같음
+ *
+ * ./gradlew jmh -Pjmh.includes=ResultEventDecoderBenchmark  (-prof gc 로 할당량 비교 권장)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ResultEventDecoderBenchmark {
+
+    // Lambda가 페이지마다 보내는 학번 인식 진행 이벤트 (snake_case 혼용)
+    private static final String RECOGNITION = """
+            {"event_type":"STUDENT_ID_RECOGNITION","exam_code":"AI2024MID","student_id":"32201234",
+             "filename":"0042_scan_0042.jpg","s3_key":"uploads/AI2024MID/0042_scan_0042.jpg",
+             "index":42,"total":180,"status":"processing","confidence":0.9731,
+             "bbox":{"x":120,"y":64,"w":410,"h":96},"elapsed_ms":812,"model":"id-recog-v3"}""";
+
+    // 학생 한 명의 답안 인식 결과 (문항 30개)
+    private static final String ANSWER_RESULT;
+
+    static {
+        StringBuilder answers = new StringBuilder("[");
+        for (int q = 1; q <= 30; q++) {
+            if (q > 1)
+                answers.append(',');
+            answers.append("{\"questionNum\":").append(q)
+                    .append(",\"subQuestionNum\":0,\"rawAnswer\":\"").append(q % 5 + 1)
+                    .append("\",\"confidence\":0.95,\"roi\":{\"x\":10,\"y\":").append(q * 40)
+                    .append(",\"w\":300,\"h\":36}}");
+        }
+        answers.append(']');
+        ANSWER_RESULT = "{\"eventType\":\"ANSWER_RECOGNITION_RESULT\",\"examCode\":\"AI2024MID\","
+                + "\"studentId\":\"32201234\",\"answers\":" + answers + ",\"pageCount\":4}";
+    }
+
+    @Param({ "recognition", "answer_result" })
+    public String payload;
+
+    private String json;
+    private ObjectMapper objectMapper;
+    private ResultEventDecoder decoder;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        decoder = new ResultEventDecoder(objectMapper);
+        json = "recognition".equals(payload) ? RECOGNITION : ANSWER_RESULT;
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void mapLookup(Blackhole bh) throws Exception {
+        Map<String, Object> event = objectMapper.readValue(json, Map.class);
+        bh.consume(event.getOrDefault("event_type", event.getOrDefault("eventType", "STUDENT_ID_RECOGNITION")));
+        bh.consume(event.getOrDefault("examCode", event.get("exam_code")));
+        bh.consume(event.getOrDefault("studentId", event.get("student_id")));
+        bh.consume(event.getOrDefault("filename", event.get("fileName")));
+        bh.consume(event.getOrDefault("s3Key", event.get("s3_key")));
+        bh.consume(event.getOrDefault("uploadIndex", event.get("upload_index")));
+        Object total = event.get("total");
+        bh.consume(total != null ? (int) Double.parseDouble(total.toString()) : 0);
+        bh.consume(event.getOrDefault("status", "processing"));
+    }
+
+    @Benchmark
+    public ResultEvent streaming() throws Exception {
+        return decoder.decode(json);
+    }
+}
@@ -0,0 +1,76 @@
+package com.dankook.mlpa_gradi.service.s3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 배치 업로드 presigned URL 생성 비교 (grading 시작 요청 한 번에 드는 서명 시간)
+ * - sequential: 기존 createBatchPutUrls 루프 (한 건씩 순차 서명)
+ * - parallel: ParallelPresigner (코어 수만큼 구간을 나눠 virtual thread에서 서명)
+ * 서명은 로컬 HMAC 계산이라 네트워크/자격 증명 없이 측정됩니다.
+ *
+ * ./gradlew jmh -Pjmh.includes=ParallelPresignerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelPresignerBenchmark {
+
+    @Param({ "100", "1000", "5000" })
+    public int images;
+
+    private S3Presigner presigner;
+    private ParallelPresigner parallelPresigner;
+    private List<ParallelPresigner.PutTarget> targets;
+
+    @Setup
+    public void setup() {
+        presigner = S3Presigner.builder()
+                .region(Region.AP_NORTHEAST_2)
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create("AKIABENCHMARK", "benchmark-secret")))
+                .build();
+        parallelPresigner = new ParallelPresigner(presigner, "mlpa-gradi", Duration.ofMinutes(10),
+                Runtime.getRuntime().availableProcessors(), 64);
+
+        targets = new ArrayList<>(images);
+        for (int i = 0; i < images; i++) {
+            targets.add(new ParallelPresigner.PutTarget(
+                    String.format("uploads/AI2024MID/%d_scan_%04d.jpg", i, i), "image/jpeg",
+                    Map.of("total", String.valueOf(images), "index", String.valueOf(i))));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        parallelPresigner.close();
+        presigner.close();
+    }
+
+    @Benchmark
+    public List<String> sequential() {
+        return parallelPresigner.presignPutsSequential(targets);
+    }
+
+    @Benchmark
+    public List<String> parallel() {
+        return parallelPresigner.presignPuts(targets);
+    }
+}
@@ -1,12 +1,30 @@
 package com.dankook.mlpa_gradi.config;
 
+import com.dankook.mlpa_gradi.service.kafka.RetryForwarder;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.annotation.EnableKafkaRetryTopic;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.Map;
 
 @Configuration
+@EnableKafkaRetryTopic
 public class KafkaConfig {
 
     @Value("${kafka.topics.grading-request}")
@@ -18,27 +36,116 @@ public class KafkaConfig {
     @Value("${kafka.topics.answer-result}")
     private String answerResultTopic;
 
+    @Value("${kafka.topics.answer-fallback}")
+    private String answerFallbackTopic;
+
+    // 시험 코드(key) 기준으로 파티션이 나뉘므로, 동시에 채점 중인 시험 수만큼 병렬 처리 가능
+    @Value("${kafka.topic-config.partitions:6}")
+    private int partitions;
+
+    @Value("${kafka.topic-config.replicas:1}")
+    private int replicas;
+
     @Bean
     public NewTopic gradingRequestTopic() {
         return TopicBuilder.name(gradingRequestTopic)
-                .partitions(1)
-                .replicas(1)
+                .partitions(partitions)
+                .replicas(replicas)
                 .build();
     }
 
     @Bean
     public NewTopic idResultTopic() {
         return TopicBuilder.name(idResultTopic)
-                .partitions(1)
-                .replicas(1)
+                .partitions(partitions)
+                .replicas(replicas)
                 .build();
     }
 
     @Bean
     public NewTopic answerResultTopic() {
         return TopicBuilder.name(answerResultTopic)
-                .partitions(1)
-                .replicas(1)
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+
+    @Bean
+    public NewTopic answerFallbackTopic() {
+        return TopicBuilder.name(answerFallbackTopic)
+                .partitions(partitions)
+                .replicas(replicas)
                 .build();
     }
+
+    // ✅ 결과 토픽별 재시도 진입 토픽 ({topic}-retry). 백오프/DLT 토픽은 @RetryableTopic이 생성
+    @Bean
+    public KafkaAdmin.NewTopics resultRetryTopics() {
+        return new KafkaAdmin.NewTopics(
+                retryTopic(idResultTopic),
+                retryTopic(answerResultTopic),
+                retryTopic(answerFallbackTopic));
+    }
+
+    private NewTopic retryTopic(String topic) {
+        return TopicBuilder.name(topic + RetryForwarder.RETRY_SUFFIX)
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+
+    // ✅ 배치 리스너용 컨테이너 팩토리 (spring.kafka.* 설정은 Boot 기본 팩토리와 동일하게 적용)
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        return factory;
+    }
+
+    // ✅ 기본 producer (spring.kafka.producer 설정 그대로, 진행 상태/재시도/DLT 등 나머지 발행에 사용)
+    // 채점 요청 전용 producer를 별도 빈으로 두므로 Boot 기본 빈 대신 여기서 @Primary로 선언
+    @Bean
+    @Primary
+    public ProducerFactory<String, String> kafkaProducerFactory(KafkaProperties properties,
+            ObjectProvider<SslBundles> sslBundles) {
+        return new DefaultKafkaProducerFactory<>(properties.buildProducerProperties(sslBundles.getIfAvailable()));
+    }
+
+    @Bean
+    @Primary
+    public KafkaTemplate<String, String> kafkaTemplate(ProducerFactory<String, String> kafkaProducerFactory,
+            KafkaProperties properties) {
+        KafkaTemplate<String, String> template = new KafkaTemplate<>(kafkaProducerFactory);
+        if (properties.getTemplate().getDefaultTopic() != null)
+            template.setDefaultTopic(properties.getTemplate().getDefaultTopic());
+        return template;
+    }
+
+    // ✅ 채점 요청 전용 producer: 처리량 위주 설정 (멱등 + acks=all + linger/batch + 압축)
+    // 전역 spring.kafka.producer 기본값은 건드리지 않고 grading-request 토픽 발행에만 적용
+    @Bean
+    public ProducerFactory<String, String> gradingProducerFactory(KafkaProperties properties,
+            ObjectProvider<SslBundles> sslBundles,
+            @Value("${kafka.producer.grading.acks:all}") String acks,
+            @Value("${kafka.producer.grading.batch-size:65536}") int batchSize,
+            @Value("${kafka.producer.grading.compression-type:lz4}") String compressionType,
+            @Value("${kafka.producer.grading.linger-ms:5}") int lingerMs) {
+        Map<String, Object> config = properties.buildProducerProperties(sslBundles.getIfAvailable());
+        config.put(ProducerConfig.ACKS_CONFIG, acks);
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> gradingKafkaTemplate(
+            @Qualifier("gradingProducerFactory") ProducerFactory<String, String> gradingProducerFactory) {
+        return new KafkaTemplate<>(gradingProducerFactory);
+    }
 }
@@ -0,0 +1,71 @@
+package com.dankook.mlpa_gradi.config;
+
+import com.dankook.mlpa_gradi.service.progress.InMemoryProgressStateStore;
+import com.dankook.mlpa_gradi.service.progress.KafkaProgressStateStore;
+import com.dankook.mlpa_gradi.service.progress.ProgressStateStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.UUID;
+
+/**
+ * ✅ 진행 상태 공유 백엔드 선택 (progress.state.backend = memory | kafka)
+ * 여러 BE 레플리카를 로드밸런서 뒤에 둘 때는 kafka를 사용합니다.
+ */
+@Configuration
+public class ProgressStateConfig {
+
+    @Value("${progress.state.topic:mlpa-progress-state}")
+    private String stateTopic;
+
+    @Value("${progress.state.event-topic:mlpa-progress-events}")
+    private String eventTopic;
+
+    // 공유 상태가 브로커 하나에 묶이지 않도록 채점 토픽과 같은 복제 수 사용
+    @Value("${kafka.topic-config.replicas:1}")
+    private int replicas;
+
+    @Bean
+    @ConditionalOnProperty(name = "progress.state.backend", havingValue = "memory", matchIfMissing = true)
+    public ProgressStateStore inMemoryProgressStateStore() {
+        return new InMemoryProgressStateStore();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "progress.state.backend", havingValue = "kafka")
+    public ProgressStateStore kafkaProgressStateStore(KafkaTemplate<String, String> kafkaTemplate,
+            ConsumerFactory<String, String> consumerFactory, ObjectMapper objectMapper,
+            @Value("${progress.state.node-id:}") String nodeId) {
+        String node = (nodeId == null || nodeId.isBlank()) ? UUID.randomUUID().toString() : nodeId;
+        return new KafkaProgressStateStore(kafkaTemplate, consumerFactory, objectMapper, stateTopic, eventTopic,
+                node);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "progress.state.backend", havingValue = "kafka")
+    public NewTopic progressStateTopic() {
+        return TopicBuilder.name(stateTopic)
+                .partitions(1)
+                .replicas(replicas)
+                .compact()
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "progress.state.backend", havingValue = "kafka")
+    public NewTopic progressEventTopic() {
+        return TopicBuilder.name(eventTopic)
+                .partitions(1)
+                .replicas(replicas)
+                .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(60 * 60 * 1000))
+                .build();
+    }
+}
@@ -5,8 +5,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.sts.StsClient;
 import java.net.URI;
@@ -26,12 +29,37 @@ public class S3Config {
     @Value("${aws.endpoint:}")
     private String endpoint;
 
+    // MinIO 등 로컬 S3 호환 서버는 virtual-host 방식 버킷 주소를 못 쓰므로 path-style 필요
+    @Value("${aws.s3.path-style:false}")
+    private boolean pathStyle;
+
+    @Value("${aws.s3.async.max-concurrency:64}")
+    private int asyncMaxConcurrency;
+
     @Bean
     public S3Client s3Client() {
         AwsBasicCredentials creds = AwsBasicCredentials.create(accessKey, secretKey);
         var builder = S3Client.builder()
                 .region(Region.of(region))
-                .credentialsProvider(StaticCredentialsProvider.create(creds));
+                .credentialsProvider(StaticCredentialsProvider.create(creds))
+                .forcePathStyle(pathStyle);
+
+        if (endpoint != null && !endpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+
+        return builder.build();
+    }
+
+    // ✅ Non-blocking S3 client (나열/삭제를 CompletableFuture로, netty 이벤트 루프에서 처리)
+    @Bean(destroyMethod = "close")
+    public S3AsyncClient s3AsyncClient() {
+        AwsBasicCredentials creds = AwsBasicCredentials.create(accessKey, secretKey);
+        var builder = S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(creds))
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder().maxConcurrency(asyncMaxConcurrency))
+                .forcePathStyle(pathStyle);
 
         if (endpoint != null && !endpoint.isEmpty()) {
             builder.endpointOverride(URI.create(endpoint));
@@ -45,7 +73,8 @@ public class S3Config {
         AwsBasicCredentials creds = AwsBasicCredentials.create(accessKey, secretKey);
         var builder = S3Presigner.builder()
                 .region(Region.of(region))
-                .credentialsProvider(StaticCredentialsProvider.create(creds));
+                .credentialsProvider(StaticCredentialsProvider.create(creds))
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(pathStyle).build());
 
         if (endpoint != null && !endpoint.isEmpty()) {
             builder.endpointOverride(URI.create(endpoint));
@@ -0,0 +1,28 @@
+package com.dankook.mlpa_gradi.controller;
+
+import com.dankook.mlpa_gradi.service.kafka.DltRedriveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/kafka")
+@RequiredArgsConstructor
+public class KafkaAdminController {
+
+    private final DltRedriveService dltRedriveService;
+
+    // ✅ DLT에 쌓인 결과 메시지를 원래 토픽으로 일괄 재발행
+    @PostMapping("/dlt/redrive")
+    public List<DltRedriveService.RedriveResult> redrive(
+            @RequestParam(value = "topic", required = false) String topic,
+            @RequestParam(value = "max", required = false, defaultValue = "1000") int max) {
+        if (topic != null && !topic.isBlank())
+            return List.of(dltRedriveService.redrive(topic, max));
+        return dltRedriveService.redriveAll(max);
+    }
+}
@@ -1,5 +1,6 @@
 package com.dankook.mlpa_gradi.controller;
 
+import com.dankook.mlpa_gradi.dto.ReviewImageResponse;
 import com.dankook.mlpa_gradi.entity.Exam;
 import com.dankook.mlpa_gradi.repository.ExamRepository;
 import com.dankook.mlpa_gradi.service.PdfService;
@@ -20,6 +21,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
 import lombok.extern.slf4j.Slf4j;
 
 @RestController
@@ -92,22 +94,61 @@ public class ReportController {
      * ✅ 학생 채점 이미지 S3 URL 목록 조회
      */
     @GetMapping("/images/{examCode}/{studentId}")
-    public List<String> getStudentImages(
+    public CompletableFuture<List<String>> getStudentImages(
             @PathVariable String examCode,
             @PathVariable String studentId) {
-        return s3PresignService.getStudentImageUrls(examCode, studentId);
+        return s3PresignService.getStudentImageUrlsAsync(examCode, studentId);
+    }
+
+    /**
+     * ✅ 학생 채점 이미지 검토용 목록 (썸네일 + 원본 링크)
+     */
+    @GetMapping("/images/{examCode}/{studentId}/review")
+    public CompletableFuture<List<ReviewImageResponse>> getStudentReviewImages(
+            @PathVariable String examCode,
+            @PathVariable String studentId) {
+        return s3PresignService.getStudentReviewImagesAsync(examCode, studentId);
     }
 
     @GetMapping("/unknown-images/{examCode}")
-    public List<String> getUnknownImages(@PathVariable String examCode) {
+    public CompletableFuture<List<String>> getUnknownImages(@PathVariable String examCode) {
         String normalizedCode = examCode.trim().toUpperCase();
         log.info("📥 Request for unknown images: examCode={}", normalizedCode);
 
         // 1. Get URLs from both sources
         // Get a copy to avoid ConcurrentModificationException
         List<String> memoryUrls = new ArrayList<>(inMemoryReportRepository.getUnknownImages(normalizedCode));
-        List<String> s3Urls = s3PresignService.getUnknownIdImageUrls(normalizedCode);
+        // S3 나열 → presign은 non-blocking으로 진행하고, 끝나면 병합
+        return s3PresignService.getUnknownIdImageUrlsAsync(normalizedCode)
+                .thenApply(s3Urls -> mergeUnknownImages(normalizedCode, memoryUrls, s3Urls));
+    }
+
+    /**
+     * ✅ 학번 미인식 이미지 검토용 목록 (썸네일 + 원본 링크)
+     * 메모리(이벤트로 받은 URL)와 S3 나열 결과를 파일명 기준으로 합쳐 key 목록을 만든 뒤 썸네일 URL로 바꿉니다.
+     */
+    @GetMapping("/unknown-images/{examCode}/review")
+    public CompletableFuture<List<ReviewImageResponse>> getUnknownReviewImages(@PathVariable String examCode) {
+        String normalizedCode = examCode.trim().toUpperCase();
+        List<String> memoryUrls = new ArrayList<>(inMemoryReportRepository.getUnknownImages(normalizedCode));
+        String folderPrefix = String.format("header/%s/unknown_id/", normalizedCode);
+
+        return s3PresignService.getUnknownIdImageKeysAsync(normalizedCode).thenApply(s3Keys -> {
+            Map<String, String> keysByFilename = new LinkedHashMap<>();
+            for (String url : memoryUrls) {
+                String filename = extractAndDecodeFilename(url);
+                if (filename != null)
+                    keysByFilename.put(filename, folderPrefix + filename);
+            }
+            for (String key : s3Keys) {
+                keysByFilename.put(key.substring(key.lastIndexOf('/') + 1), key);
+            }
+            log.info("✅ Returning {} unknown review images for {}", keysByFilename.size(), normalizedCode);
+            return s3PresignService.toReviewImages(normalizedCode, new ArrayList<>(keysByFilename.values()));
+        });
+    }
 
+    private List<String> mergeUnknownImages(String normalizedCode, List<String> memoryUrls, List<String> s3Urls) {
         log.info("📊 Found {} from memory, {} from S3 for {}", memoryUrls.size(), s3Urls.size(), normalizedCode);
 
         // 2. Deduplicate by decoded filename
@@ -0,0 +1,25 @@
+package com.dankook.mlpa_gradi.controller;
+
+import com.dankook.mlpa_gradi.service.S3PresignService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/s3")
+@RequiredArgsConstructor
+public class S3AdminController {
+
+    private final S3PresignService s3PresignService;
+
+    // ✅ 시험 객체 인덱스를 S3 나열 결과로 다시 구성 (수동으로 올린/지운 객체 반영)
+    @PostMapping("/index/rebuild")
+    public Map<String, Object> rebuildIndex(@RequestParam("examCode") String examCode) {
+        int indexed = s3PresignService.rebuildObjectIndex(examCode);
+        return Map.of("examCode", examCode.trim().toUpperCase(), "indexed", indexed);
+    }
+}
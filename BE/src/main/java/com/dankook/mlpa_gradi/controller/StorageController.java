@@ -1,17 +1,27 @@
 package com.dankook.mlpa_gradi.controller;
 
+import com.dankook.mlpa_gradi.dto.BatchCompleteRequest;
+import com.dankook.mlpa_gradi.dto.BatchCompleteResponse;
 import com.dankook.mlpa_gradi.dto.BatchPresignRequest;
 import com.dankook.mlpa_gradi.dto.BatchPresignResponse;
 import com.dankook.mlpa_gradi.dto.PresignRequest;
 import com.dankook.mlpa_gradi.dto.PresignResponse;
+import com.dankook.mlpa_gradi.dto.PresignedPostResponse;
+import com.dankook.mlpa_gradi.dto.ProgressSnapshot;
+import com.dankook.mlpa_gradi.service.KafkaProducerService.SendResult;
+import com.dankook.mlpa_gradi.service.KafkaProducerService.SendStatus;
 import com.dankook.mlpa_gradi.service.S3PresignService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -24,6 +34,8 @@ public class StorageController {
     private final com.dankook.mlpa_gradi.service.SseService sseService;
     private final com.dankook.mlpa_gradi.service.PdfService pdfService;
     private final com.dankook.mlpa_gradi.service.KafkaProducerService kafkaProducerService;
+    private final com.dankook.mlpa_gradi.service.s3.ExamObjectIndex examObjectIndex;
+    private final com.dankook.mlpa_gradi.service.s3.PresignedPostService presignedPostService;
 
     @org.springframework.beans.factory.annotation.Value("${aws.s3.prefix:uploads}")
     private String s3Prefix;
@@ -35,6 +47,7 @@ public class StorageController {
             @RequestParam("examCode") String examCode,
             @RequestParam(value = "examName", required = false, defaultValue = "Unknown") String examName,
             @RequestParam(value = "total", required = false, defaultValue = "0") int total,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
             jakarta.servlet.http.HttpServletResponse response) {
 
         // 프록시 버퍼링 방지 헤더 강제 설정
@@ -43,9 +56,39 @@ public class StorageController {
         response.setHeader("Connection", "keep-alive");
 
         org.slf4j.LoggerFactory.getLogger(StorageController.class).info(
-                "📥 [StorageController] SSE Connect: examCode={}, total={}", examCode, total);
+                "📥 [StorageController] SSE Connect: examCode={}, total={}, lastEventId={}", examCode, total,
+                lastEventId);
 
-        return ResponseEntity.ok(sseService.connect(examCode, examName, total));
+        return ResponseEntity.ok(sseService.connect(examCode, examName, total, lastEventId));
+    }
+
+    // ✅ 관리자 대시보드 SSE - 모든 시험의 진행 상태를 연결 하나로 (폴링 대체, 변경분만 전송)
+    @CrossOrigin(origins = "*")
+    @GetMapping(value = "/sse/dashboard", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> connectDashboardSSE(jakarta.servlet.http.HttpServletResponse response) {
+        response.setHeader("Cache-Control", "no-cache");
+        response.setHeader("X-Accel-Buffering", "no");
+        response.setHeader("Connection", "keep-alive");
+        return ResponseEntity.ok(sseService.connectDashboard());
+    }
+
+    // ✅ SSE 연결 (WebFlux Flux 버전) - Kafka 스레드에서 blocking write 없이 시험별 sink로 fan-out
+    @CrossOrigin(origins = "*")
+    @GetMapping(value = "/sse/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamSSE(
+            @RequestParam("examCode") String examCode,
+            @RequestParam(value = "examName", required = false, defaultValue = "Unknown") String examName,
+            @RequestParam(value = "total", required = false, defaultValue = "0") int total,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            jakarta.servlet.http.HttpServletResponse response) {
+
+        response.setHeader("Cache-Control", "no-cache");
+        response.setHeader("X-Accel-Buffering", "no");
+
+        log.info("📥 [StorageController] Reactive SSE Stream: examCode={}, total={}, lastEventId={}", examCode, total,
+                lastEventId);
+
+        return sseService.stream(examCode, examName, total, lastEventId);
     }
 
     // ✅ 배치 이미지 Presigned URL 생성 (examCode 기반)
@@ -54,6 +97,13 @@ public class StorageController {
         return s3PresignService.createBatchPutUrls(request);
     }
 
+    // ✅ 시험 전체 업로드용 presigned POST 정책 (uploads/{examCode}/ 범위, 서명 1회, Content-Type 고정)
+    @PostMapping("/presigned-post")
+    public PresignedPostResponse createUploadPolicy(@RequestParam("examCode") String examCode,
+            @RequestParam(value = "contentType", defaultValue = "image/jpeg") String contentType) {
+        return presignedPostService.createUploadPolicy(examCode, contentType);
+    }
+
     // ✅ 단일 이미지 Presigned URL 생성
     @PostMapping("/presigned-url")
     public PresignResponse createPresignedUrl(@RequestBody PresignRequest request) {
@@ -78,21 +128,17 @@ public class StorageController {
 
     // ✅ 현재 진행 중인 채점 프로세스 목록 조회
     @GetMapping("/active-processes")
-    public ResponseEntity<java.util.List<Map<String, Object>>> getActiveProcesses() {
+    public ResponseEntity<java.util.List<ProgressSnapshot>> getActiveProcesses() {
         return ResponseEntity.ok(sseService.getActiveProcesses());
     }
 
     // ✅ 현재 진행 중인 특정 채점 프로세스의 상세 정보 조회
     @GetMapping("/progress/{examCode}")
-    public ResponseEntity<Map<String, Object>> getProcessProgress(@PathVariable("examCode") String examCode) {
+    public ResponseEntity<ProgressSnapshot> getProcessProgress(@PathVariable("examCode") String examCode) {
         com.dankook.mlpa_gradi.service.SseService.SessionInfo s = sseService.getSession(examCode);
         if (s == null)
             return ResponseEntity.notFound().build();
-        return ResponseEntity.ok(Map.of(
-                "examCode", s.examCode,
-                "index", s.index,
-                "total", s.total,
-                "status", s.status));
+        return ResponseEntity.ok(s.snapshot());
     }
 
     // ✅ 채점 프로세스 강제 중단
@@ -122,6 +168,8 @@ public class StorageController {
         // 1. S3 Key 복원 (S3PresignService.createBatchPutUrls와 동일한 규칙)
         // 규칙: {prefix}/{examCode}/{index}_{filename}
         String s3Key = String.format("%s/%s/%d_%s", s3Prefix, examCode, index, filename);
+        examObjectIndex.put(examCode,
+                new com.dankook.mlpa_gradi.service.s3.ExamObjectIndex.ExamObject(s3Key, index, null, null, null));
 
         // 2. AI 서버가 접근 가능한 Presigned GET URL 생성
         String downloadUrl = s3PresignService.generatePresignedGetUrl(s3Key);
@@ -132,9 +180,71 @@ public class StorageController {
         message.put("examCode", examCode);
         message.put("filename", filename);
         message.put("downloadUrl", downloadUrl);
+        // 결과 이벤트에서 페이지 단위 중복 제거/진행률 비트맵에 쓰는 업로드 인덱스
+        message.put("uploadIndex", index);
 
         kafkaProducerService.sendGradingRequest(message);
 
         return ResponseEntity.ok(Map.of("status", "published", "examCode", examCode, "index", index));
     }
+
+    // ✅ 이미지 업로드 완료 일괄 알림 - 여러 페이지를 한 번의 요청으로 (presign 일괄 생성 + Kafka 배치 발행)
+    @PostMapping("/image/complete/batch")
+    public ResponseEntity<BatchCompleteResponse> completeImageUploadBatch(@RequestBody BatchCompleteRequest request) {
+        String examCode = request.getExamCode();
+        List<BatchCompleteRequest.CompletedImage> images = request.getImages() != null ? request.getImages()
+                : List.of();
+
+        log.info("📸 Image upload complete (batch): examCode={}, count={}", examCode, images.size());
+
+        // 1. S3 Key 복원 후 Presigned GET URL 일괄 생성 (규칙: {prefix}/{examCode}/{index}_{filename})
+        List<String> s3Keys = new ArrayList<>(images.size());
+        for (BatchCompleteRequest.CompletedImage image : images) {
+            String s3Key = String.format("%s/%s/%d_%s", s3Prefix, examCode, image.getIndex(), image.getFilename());
+            s3Keys.add(s3Key);
+            examObjectIndex.put(examCode, new com.dankook.mlpa_gradi.service.s3.ExamObjectIndex.ExamObject(s3Key,
+                    image.getIndex(), null, null, null));
+        }
+        List<String> downloadUrls = s3PresignService.generatePresignedGetUrls(s3Keys);
+
+        // 2. 카프카 메시지 생성 (단건 API와 동일한 형식), 서명에 실패한 항목은 발행하지 않음
+        List<Map<String, Object>> messages = new ArrayList<>(images.size());
+        List<Integer> messageIndex = new ArrayList<>(images.size());
+        for (int i = 0; i < images.size(); i++) {
+            if (downloadUrls.get(i) == null)
+                continue;
+            BatchCompleteRequest.CompletedImage image = images.get(i);
+            Map<String, Object> message = new java.util.HashMap<>();
+            message.put("eventType", "STUDENT_ID_RECOGNITION");
+            message.put("examCode", examCode);
+            message.put("filename", image.getFilename());
+            message.put("downloadUrl", downloadUrls.get(i));
+            message.put("uploadIndex", image.getIndex());
+            messages.add(message);
+            messageIndex.add(i);
+        }
+
+        // 3. 한 번에 발행하고 항목별 결과 반환
+        List<SendResult> sentMessages = kafkaProducerService.sendGradingRequests(messages);
+        SendResult[] sent = new SendResult[images.size()];
+        for (int m = 0; m < messageIndex.size(); m++) {
+            sent[messageIndex.get(m)] = sentMessages.get(m);
+        }
+        List<BatchCompleteResponse.ItemResult> results = new ArrayList<>(images.size());
+        int published = 0;
+        int failed = 0;
+        for (int i = 0; i < images.size(); i++) {
+            BatchCompleteRequest.CompletedImage image = images.get(i);
+            SendResult r = sent[i] != null ? sent[i]
+                    : new SendResult(SendStatus.FAILED, "Failed to create presigned download URL");
+            if (r.status() == SendStatus.FAILED)
+                failed++;
+            else if (r.status() == SendStatus.PUBLISHED)
+                published++;
+            results.add(new BatchCompleteResponse.ItemResult(image.getIndex(), image.getFilename(),
+                    r.status().name().toLowerCase(), r.error()));
+        }
+
+        return ResponseEntity.ok(new BatchCompleteResponse(examCode, published, failed, results));
+    }
 }
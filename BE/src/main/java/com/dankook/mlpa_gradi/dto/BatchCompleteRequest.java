@@ -0,0 +1,24 @@
+package com.dankook.mlpa_gradi.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class BatchCompleteRequest {
+    private String examCode;
+    // 업로드가 끝난 이미지 목록 (여러 페이지를 한 번에 알림)
+    private List<CompletedImage> images;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class CompletedImage {
+        private int index; // 업로드 인덱스 (presign 요청과 동일, 1-based)
+        private String filename; // 파일명
+    }
+}
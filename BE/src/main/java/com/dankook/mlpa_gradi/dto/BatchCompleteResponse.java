@@ -0,0 +1,28 @@
+package com.dankook.mlpa_gradi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCompleteResponse {
+    private String examCode;
+    private int published;
+    private int failed;
+    private List<ItemResult> results;
+
+    @Getter
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;
+        private String filename;
+        private String status; // published | duplicate | failed
+        private String error; // 실패 사유 (성공 시 null)
+    }
+}
@@ -0,0 +1,19 @@
+package com.dankook.mlpa_gradi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresignedPostResponse {
+    private String examCode;
+    private String url; // multipart/form-data POST 대상
+    private String keyPrefix; // key는 반드시 이 prefix로 시작 ({keyPrefix}{index}_{filename})
+    private Map<String, String> fields; // form에 그대로 넣을 서명 필드
+    private String expiresAt; // ISO-8601 (UTC)
+    private long maxFileBytes;
+}
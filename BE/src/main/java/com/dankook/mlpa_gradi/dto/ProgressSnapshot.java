@@ -0,0 +1,55 @@
+package com.dankook.mlpa_gradi.dto;
+
+/**
+ * ✅ 채점 진행 상태의 불변 스냅샷
+ * 갱신될 때마다 version이 1씩 증가하며, 읽는 쪽은 복사/락 없이 참조만 가져가면 됩니다.
+ * epoch는 같은 시험을 새로 채점할 때(reset)마다 1씩 증가합니다. 다른 레플리카는 더 큰 epoch를 받으면
+ * 자기 쪽 처리 페이지 비트맵/중복 제거 상태도 비웁니다.
+ */
+public record ProgressSnapshot(
+        long version,
+        long epoch,
+        String examCode,
+        String examName,
+        int index,
+        int total,
+        String status) {
+
+    public static ProgressSnapshot initial(String examCode, String examName, int total) {
+        return new ProgressSnapshot(0, 0, examCode, examName, 0, Math.max(total, 0), "processing");
+    }
+
+    public ProgressSnapshot withTotal(int newTotal) {
+        return new ProgressSnapshot(version + 1, epoch, examCode, examName, index, newTotal, status);
+    }
+
+    public ProgressSnapshot withExamName(String newExamName) {
+        return new ProgressSnapshot(version + 1, epoch, examCode, newExamName, index, total, status);
+    }
+
+    /**
+     * 진행률 갱신. index는 뒤로 가지 않으며 total을 넘지 않게 보정하고, 다 차면 completed로 전환합니다.
+     */
+    public ProgressSnapshot withProgress(int newIndex, int newTotal, String newStatus) {
+        int t = newTotal > 0 ? newTotal : total;
+        int i = Math.max(index, newIndex);
+        // 보정: index가 total을 넘지 않게 강제 (5/4 방지)
+        if (t > 0 && i > t)
+            i = t;
+        String st = (t > 0 && i >= t) ? "completed" : (newStatus != null ? newStatus : status);
+        return new ProgressSnapshot(version + 1, epoch, examCode, examName, i, t, st);
+    }
+
+    // 새 채점 시작: 진행률만 0으로 (version은 계속 증가, epoch 증가)
+    public ProgressSnapshot reset() {
+        return new ProgressSnapshot(version + 1, epoch + 1, examCode, examName, 0, total, "processing");
+    }
+
+    /**
+     * (epoch, version) 순서 비교. 새 채점의 스냅샷은 이전 채점의 어떤 version보다 앞섭니다.
+     */
+    public int compareOrder(ProgressSnapshot other) {
+        int byEpoch = Long.compare(epoch, other.epoch);
+        return byEpoch != 0 ? byEpoch : Long.compare(version, other.version);
+    }
+}
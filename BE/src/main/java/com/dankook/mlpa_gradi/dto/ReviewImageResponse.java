@@ -0,0 +1,13 @@
+package com.dankook.mlpa_gradi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ReviewImageResponse {
+    private String filename; // 원본 파일명 (초안/피드백 매칭용)
+    private String thumbnailUrl; // 축소 이미지, 아직 생성 전이면 원본 URL
+    private String headerUrl; // 학번 영역 크롭 (업로드 원본 페이지만, 없으면 null)
+    private String originalUrl; // 원본 이미지 (확대 보기용)
+}
@@ -0,0 +1,13 @@
+package com.dankook.mlpa_gradi.dto.event;
+
+import java.util.Map;
+
+/**
+ * 자동 인식 실패로 수동 채점이 필요한 문항 (ANSWER_FALLBACK)
+ *
+ * @param rawJson 원본 메시지 (SSE에 그대로 전달)
+ * @param payload 폴백 목록 저장용 Map (디코딩 시 한 번만 만듦)
+ */
+public record AnswerFallbackEvent(String examCode, String questionNum, String rawJson, Map<String, Object> payload)
+        implements ResultEvent {
+}
@@ -0,0 +1,13 @@
+package com.dankook.mlpa_gradi.dto.event;
+
+import java.util.Map;
+
+/**
+ * 학생 한 명의 답안 인식 결과 (ANSWER_RECOGNITION_RESULT)
+ *
+ * @param rawJson 원본 메시지. SSE 전달은 원본 그대로 사용 (답안 구조는 BE에서 해석하지 않음)
+ * @param payload 저장용 Map (디코딩 시 한 번만 만듦)
+ */
+public record AnswerResultEvent(String examCode, String studentId, String rawJson, Map<String, Object> payload)
+        implements ResultEvent {
+}
@@ -0,0 +1,7 @@
+package com.dankook.mlpa_gradi.dto.event;
+
+/**
+ * 출석부 업로드 알림 (ATTENDANCE_UPLOAD)
+ */
+public record AttendanceUploadEvent(String examCode, String downloadUrl) implements ResultEvent {
+}
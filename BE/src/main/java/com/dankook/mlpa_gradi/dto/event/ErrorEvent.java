@@ -0,0 +1,7 @@
+package com.dankook.mlpa_gradi.dto.event;
+
+/**
+ * AI 서버 처리 오류 (ERROR)
+ */
+public record ErrorEvent(String examCode, String message, String rawJson) implements ResultEvent {
+}
@@ -0,0 +1,19 @@
+package com.dankook.mlpa_gradi.dto.event;
+
+/**
+ * 학번/문항 인식 진행 이벤트 (STUDENT_ID_RECOGNITION, QUESTION_RECOGNITION)
+ * 페이지마다 한 건씩 오는 고빈도 이벤트라 원본 JSON은 보관하지 않습니다.
+ *
+ * @param uploadIndex 업로드 순번 (없으면 null → s3Key 접두사로 추정)
+ * @param total       전체 페이지 수 (없으면 0)
+ */
+public record RecognitionEvent(
+        String eventType,
+        String examCode,
+        String studentId,
+        String filename,
+        String s3Key,
+        Integer uploadIndex,
+        int total,
+        String status) implements ResultEvent {
+}
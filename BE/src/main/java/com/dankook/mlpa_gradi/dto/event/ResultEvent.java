@@ -0,0 +1,12 @@
+package com.dankook.mlpa_gradi.dto.event;
+
+/**
+ * ✅ AI 서버 / Lambda가 결과 토픽으로 보내는 이벤트
+ * 메시지 하나를 Map으로 풀지 않고 필요한 필드만 타입으로 디코딩합니다. (ResultEventDecoder)
+ */
+public sealed interface ResultEvent
+        permits RecognitionEvent, AnswerResultEvent, AnswerFallbackEvent, ErrorEvent, AttendanceUploadEvent,
+        UnknownEvent {
+
+    String examCode();
+}
@@ -0,0 +1,7 @@
+package com.dankook.mlpa_gradi.dto.event;
+
+/**
+ * 알 수 없는 event_type (로그만 남기고 무시)
+ */
+public record UnknownEvent(String eventType, String examCode) implements ResultEvent {
+}
@@ -29,6 +29,19 @@ public class InMemoryReportRepository {
         gradingResultCache.computeIfAbsent(examCode, k -> new ConcurrentHashMap<>()).put(studentId, result);
     }
 
+    // 배치 저장: 한 poll에서 모인 시험별 결과를 한 번에 반영
+    public void saveGradingResults(String examCode, Map<String, Map<String, Object>> results) {
+        if (results.isEmpty())
+            return;
+        gradingResultCache.computeIfAbsent(examCode, k -> new ConcurrentHashMap<>()).putAll(results);
+    }
+
+    public void saveFallbackItems(String examCode, List<Map<String, Object>> fallbackItems) {
+        if (fallbackItems.isEmpty())
+            return;
+        fallbackCache.computeIfAbsent(examCode, k -> new ArrayList<>()).addAll(fallbackItems);
+    }
+
     public Map<String, Map<String, Object>> getGradingResults(String examCode) {
         return gradingResultCache.getOrDefault(examCode, new ConcurrentHashMap<>());
     }
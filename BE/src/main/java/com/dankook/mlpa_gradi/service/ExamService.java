@@ -5,6 +5,8 @@ import com.dankook.mlpa_gradi.entity.Exam;
 import com.dankook.mlpa_gradi.mapper.ExamMapper;
 import com.dankook.mlpa_gradi.repository.ExamRepository;
 import com.dankook.mlpa_gradi.repository.StudentAnswerRepository;
+import com.dankook.mlpa_gradi.service.dedup.ExamDeduplicator;
+import com.dankook.mlpa_gradi.service.persistence.StudentAnswerWriteBehind;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -13,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.security.SecureRandom;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +25,8 @@ public class ExamService {
     private final ExamRepository examRepository;
     private final StudentAnswerRepository studentAnswerRepository;
     private final S3PresignService s3PresignService;
+    private final ExamDeduplicator examDeduplicator;
+    private final StudentAnswerWriteBehind studentAnswerWriteBehind;
 
     // ✅ 혼동되는 문자 제외 (I, l, 1, O, 0)
     private static final String CODE_CHARACTERS = "ABCDEFGHJKMNPQRSTUVWXYZ23456789";
@@ -109,14 +114,18 @@ public class ExamService {
     public void deleteByCode(String examCode) {
         String normalizedCode = examCode != null ? examCode.trim().toUpperCase() : "";
 
-        // 1. S3 데이터 삭제 (이미지 + 출석부) - 실패해도 계속 진행
+        // 1. S3 데이터 삭제 (이미지 + 출석부, 세 prefix 동시) - DB 정리와 병렬로 진행, 실패해도 계속 진행
+        CompletableFuture<?> s3Cleanup;
         try {
-            s3PresignService.deleteByExamCode(normalizedCode);
+            s3Cleanup = s3PresignService.deleteByExamCodeAsync(normalizedCode)
+                    .exceptionally(e -> null); // S3 삭제 실패해도 DB 정리는 계속 진행
         } catch (Exception e) {
-            // S3 삭제 실패해도 DB 정리는 계속 진행
+            s3Cleanup = CompletableFuture.completedFuture(null);
         }
 
         // 2. 해당 시험의 답안들 먼저 삭제 (Cascade가 안되어있으므로 명시적 삭제)
+        // 아직 저장되지 않은 인식 결과도 버려야 삭제 후 다시 생기지 않음
+        studentAnswerWriteBehind.discard(normalizedCode);
         try {
             studentAnswerRepository.deleteByExamCode(normalizedCode);
         } catch (Exception e) {
@@ -126,5 +135,11 @@ public class ExamService {
         // 3. 시험 삭제 - 존재하지 않으면 무시 (idempotent)
         examRepository.findByExamCode(normalizedCode)
                 .ifPresent(examRepository::delete);
+
+        // 4. 중복 처리 방지 키 해제
+        examDeduplicator.release(normalizedCode);
+
+        // 5. S3 정리 완료까지 대기 (응답 후 다시 업로드해도 지워지지 않도록)
+        s3Cleanup.join();
     }
 }
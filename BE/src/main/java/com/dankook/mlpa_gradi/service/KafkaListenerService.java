@@ -1,12 +1,43 @@
 package com.dankook.mlpa_gradi.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.dankook.mlpa_gradi.dto.ProgressSnapshot;
+import com.dankook.mlpa_gradi.dto.event.AnswerFallbackEvent;
+import com.dankook.mlpa_gradi.dto.event.AnswerResultEvent;
+import com.dankook.mlpa_gradi.dto.event.AttendanceUploadEvent;
+import com.dankook.mlpa_gradi.dto.event.ErrorEvent;
+import com.dankook.mlpa_gradi.dto.event.RecognitionEvent;
+import com.dankook.mlpa_gradi.dto.event.ResultEvent;
+import com.dankook.mlpa_gradi.dto.event.UnknownEvent;
+import com.dankook.mlpa_gradi.service.dedup.ExamDeduplicator;
+import com.dankook.mlpa_gradi.service.kafka.ConsumerMetrics;
+import com.dankook.mlpa_gradi.service.kafka.ResultEventDecoder;
+import com.dankook.mlpa_gradi.service.kafka.RetryForwarder;
+import com.dankook.mlpa_gradi.service.persistence.StudentAnswerWriteBehind;
+import com.dankook.mlpa_gradi.service.s3.ExamObjectIndex;
+import com.dankook.mlpa_gradi.service.s3.ThumbnailService;
+import com.dankook.mlpa_gradi.service.sse.ProgressCoalescer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Service
 @Slf4j
@@ -14,80 +45,305 @@ import java.util.Map;
 public class KafkaListenerService {
 
     private final SseService sseService;
+    private final ProgressCoalescer progressCoalescer;
     private final S3PresignService s3PresignService;
-    private final ObjectMapper objectMapper;
+    private final ResultEventDecoder resultEventDecoder;
+    private final RetryForwarder retryForwarder;
     private final com.dankook.mlpa_gradi.repository.memory.InMemoryReportRepository inMemoryReportRepository;
+    // 인식 결과 DB 저장 (버퍼링 후 JDBC batch)
+    private final StudentAnswerWriteBehind studentAnswerWriteBehind;
+    // 이벤트 타입별 처리량, 처리 시간, 중복 hit
+    private final ConsumerMetrics consumerMetrics;
+    // 페이지 ↔ 인식된 학번 연결 (학생 이미지 조회용)
+    private final ExamObjectIndex examObjectIndex;
+    // 검토 화면용 썸네일 / 헤더 크롭 (bounded worker pool에서 비동기 생성)
+    private final ThumbnailService thumbnailService;
 
-    // Global deduplication: track processed S3 keys to prevent duplicates across
-    // Lambda invocations
-    private final java.util.Set<String> processedS3Keys = java.util.concurrent.ConcurrentHashMap.newKeySet();
+    private static final Pattern UPLOAD_INDEX_PATTERN = Pattern.compile("^(\\d{1,7})_");
 
-    @KafkaListener(topics = { "${kafka.topics.id-result}", "${kafka.topics.answer-result}",
-            "${kafka.topics.answer-fallback}" }, groupId = "mlpa-group")
-    public void listen(String message) {
+    // Deduplication: track processed S3 keys per exam to prevent duplicates across
+    // Lambda invocations (expiring, released when the exam completes)
+    private final ExamDeduplicator examDeduplicator;
+
+    // 단건 리스너 (kafka.consumer.batch-enabled=false 일 때만 기동)
+    @KafkaListener(id = "resultListener", topics = { "${kafka.topics.id-result}", "${kafka.topics.answer-result}",
+            "${kafka.topics.answer-fallback}" }, groupId = "mlpa-group",
+            autoStartup = "#{!${kafka.consumer.batch-enabled:true}}")
+    public void listen(ConsumerRecord<String, String> record) {
+        Timer.Sample sample = Timer.start();
         try {
-            log.info("[ID-RESULT] Raw: {}", message);
-            processMessage(message);
+            log.debug("[ID-RESULT] Raw: {}", record.value());
+            ResultEvent event = resultEventDecoder.decode(record.value());
+            consumerMetrics.recordEvent(event);
+            dispatch(event);
         } catch (Exception e) {
             log.error("Error processing Kafka message: {}", e.getMessage());
+            retryForwarder.forward(record, e);
+        } finally {
+            sample.stop(consumerMetrics.processTimer("single"));
         }
     }
 
-    private void processMessage(String body) throws Exception {
-        Map<String, Object> event = objectMapper.readValue(body, Map.class);
-
-        String eventType = (String) event.getOrDefault("event_type",
-                event.getOrDefault("eventType", "STUDENT_ID_RECOGNITION"));
-
-        switch (eventType) {
-            case "STUDENT_ID_RECOGNITION":
-            case "QUESTION_RECOGNITION":
-                handleRecognitionProgress(event);
-                break;
-            case "ATTENDANCE_UPLOAD":
-                log.info("📂 Attendance file upload event received. ExamCode: {}, URL: {}", event.get("examCode"),
-                        event.get("downloadUrl"));
-                break;
-            case "ANSWER_FALLBACK":
-                String fallbackExamCode = (String) event.get("examCode");
-                log.info("🚨 Fallback requested for Exam: {}, Question: {}", fallbackExamCode,
-                        event.get("questionNum"));
-                inMemoryReportRepository.saveFallbackItem(fallbackExamCode, event);
-                sseService.sendEvent(fallbackExamCode, "fallback_required", event);
-                break;
-            case "ANSWER_RECOGNITION_RESULT":
-                String resultExamCode = (String) event.get("examCode");
-                String sid = (String) event.get("studentId");
-                log.info("✅ Answer recognition result received for sid: {} in Exam: {}", sid, resultExamCode);
-                inMemoryReportRepository.saveGradingResult(resultExamCode, sid, event);
-                sseService.sendEvent(resultExamCode, "answer_result", event);
-                break;
-            case "ERROR":
-                log.error("🚨 Error event received from AI Server: {}", event.get("message"));
-                String errorCode = (String) event.get("examCode");
-                sseService.sendEvent(errorCode, "error_occurred", event);
-                break;
-            default:
-                log.warn("[WARN] Received unknown event type: {}", eventType);
+    /**
+     * ✅ 배치 리스너: poll 한 번에 받은 레코드를 시험별로 묶어 처리
+     * - 진행률(dedup 포함)은 시험별로 한꺼번에 반영하고, SSE 진행률은 시험당 poll마다 한 번만 flush
+     * - 채점 결과/폴백은 시험별로 모아 한 번에 저장
+     * - 개별 이벤트(answer_result 등)는 해당 시험의 진행률 flush 이후 도착 순서대로 전송
+     * - 실패한 레코드만 재시도 토픽으로 넘기고 나머지는 그대로 진행
+     */
+    @KafkaListener(id = "resultBatchListener", topics = { "${kafka.topics.id-result}",
+            "${kafka.topics.answer-result}", "${kafka.topics.answer-fallback}" }, groupId = "mlpa-group",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${kafka.consumer.batch-enabled:true}")
+    public void listenBatch(List<ConsumerRecord<String, String>> records) {
+        consumerMetrics.recordBatchSize(records.size());
+        Map<String, ExamBatch> byExam = new LinkedHashMap<>();
+        for (ConsumerRecord<String, String> record : records) {
+            try {
+                ResultEvent event = resultEventDecoder.decode(record.value());
+                consumerMetrics.recordEvent(event);
+                String examCode = normalize(event.examCode());
+                if (examCode == null) {
+                    // 시험 코드가 없는 이벤트(출석부 업로드 등)는 단건 처리
+                    dispatch(event);
+                    continue;
+                }
+                byExam.computeIfAbsent(examCode, ExamBatch::new).events.add(new Decoded(record, event));
+            } catch (Exception e) {
+                log.error("Error processing Kafka message: {}", e.getMessage());
+                retryForwarder.forward(record, e);
+            }
         }
+
+        Timer batchTimer = consumerMetrics.processTimer("batch");
+        byExam.values().forEach(batch -> batchTimer.record(() -> {
+            try {
+                processExamBatch(batch);
+            } catch (RetryForwarder.ForwardFailedException e) {
+                // 재시도 토픽에도 못 넘겼으면 컨테이너가 poll을 다시 전달하도록 그대로 던짐
+                throw e;
+            } catch (Exception e) {
+                // 한 시험의 실패가 poll 전체 재전달(다른 시험 재처리/SSE 재전송)로 번지지 않게 이 시험 레코드만 재시도
+                log.error("Error processing Kafka batch for {}: {}", batch.examCode, e.getMessage());
+                for (Decoded d : batch.events) {
+                    if (!batch.forwarded.contains(d))
+                        retryForwarder.forward(d.record(), e);
+                }
+            }
+        }));
+        log.info("[BATCH] {} records for {} exams", records.size(), byExam.size());
     }
 
-    private void handleRecognitionProgress(Map<String, Object> event) throws Exception {
-        // Global S3 key deduplication: prevent duplicate processing from Lambda
-        // re-invocations
-        String s3Key = (String) event.getOrDefault("s3Key", event.get("s3_key"));
-        if (s3Key != null && !s3Key.isEmpty()) {
-            if (!processedS3Keys.add(s3Key)) {
-                return; // Skip duplicate
+    /**
+     * ✅ 재시도 리스너: 메인 리스너가 넘긴 실패 레코드를 지수 백오프로 재처리
+     * {topic}-retry → {topic}-retry-backoff-0..n → {topic}-retry-dlt
+     * JSON 자체가 깨진 메시지는 재시도해도 소용없으므로 바로 DLT로 보냄
+     */
+    @RetryableTopic(attempts = "${kafka.retry.attempts:4}",
+            backoff = @Backoff(delayExpression = "${kafka.retry.initial-delay-ms:1000}",
+                    multiplierExpression = "${kafka.retry.multiplier:2.0}",
+                    maxDelayExpression = "${kafka.retry.max-delay-ms:30000}"),
+            retryTopicSuffix = "-backoff", dltTopicSuffix = RetryForwarder.DLT_SUFFIX,
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            numPartitions = "${kafka.topic-config.partitions:6}",
+            replicationFactor = "${kafka.topic-config.replicas:1}",
+            exclude = { JsonProcessingException.class }, kafkaTemplate = "kafkaTemplate")
+    @KafkaListener(id = "resultRetryListener", topics = { "${kafka.topics.id-result}" + RetryForwarder.RETRY_SUFFIX,
+            "${kafka.topics.answer-result}" + RetryForwarder.RETRY_SUFFIX,
+            "${kafka.topics.answer-fallback}" + RetryForwarder.RETRY_SUFFIX }, groupId = "mlpa-retry-group")
+    public void listenRetry(ConsumerRecord<String, String> record) throws Exception {
+        log.info("🔁 Retrying record from {}: {}", record.topic(), record.key());
+        Timer.Sample sample = Timer.start();
+        try {
+            dispatch(resultEventDecoder.decode(record.value()));
+        } finally {
+            sample.stop(consumerMetrics.processTimer("retry"));
+        }
+    }
+
+    @DltHandler
+    public void handleDlt(ConsumerRecord<String, String> record,
+            @Header(value = KafkaHeaders.EXCEPTION_MESSAGE, required = false) String error) {
+        log.error("☠️ Record moved to DLT {} (key={}): {}", record.topic(), record.key(), error);
+    }
+
+    // 원본 레코드와 디코딩 결과 (실패 시 원본을 재시도 토픽으로 넘기기 위해 함께 보관)
+    private record Decoded(ConsumerRecord<String, String> record, ResultEvent event) {
+    }
+
+    // 한 poll 안에서 같은 시험에 속한 이벤트 묶음 (도착 순서 유지)
+    private static class ExamBatch {
+        final String examCode;
+        final List<Decoded> events = new ArrayList<>();
+        // 이미 재시도 토픽으로 넘긴 레코드 (시험 단위 실패 시 중복으로 넘기지 않도록)
+        final Set<Decoded> forwarded = new HashSet<>();
+
+        ExamBatch(String examCode) {
+            this.examCode = examCode;
+        }
+    }
+
+    private void processExamBatch(ExamBatch batch) {
+        String examCode = batch.examCode;
+
+        List<Decoded> recognitions = new ArrayList<>();
+        Map<String, Map<String, Object>> results = new LinkedHashMap<>();
+        List<Map<String, Object>> fallbacks = new ArrayList<>();
+        // 배치 저장에 포함된 레코드 (저장이 실패하면 이 레코드들만 재시도)
+        List<Decoded> persisted = new ArrayList<>();
+        // 저장 후 전송할 개별 이벤트 (eventName, 원본 JSON)
+        List<Map.Entry<String, String>> immediate = new ArrayList<>();
+        // AI 서버 오류는 저장과 무관하므로 저장 실패 여부와 상관없이 전송
+        List<String> errors = new ArrayList<>();
+
+        for (Decoded d : batch.events) {
+            try {
+                switch (d.event()) {
+                    case RecognitionEvent r -> recognitions.add(d);
+                    case AnswerResultEvent r -> {
+                        results.put(r.studentId(), r.payload());
+                        persisted.add(d);
+                        immediate.add(Map.entry("answer_result", r.rawJson()));
+                    }
+                    case AnswerFallbackEvent f -> {
+                        fallbacks.add(f.payload());
+                        persisted.add(d);
+                        immediate.add(Map.entry("fallback_required", f.rawJson()));
+                    }
+                    case ErrorEvent e -> {
+                        log.error("🚨 Error event received from AI Server: {}", e.message());
+                        errors.add(e.rawJson());
+                    }
+                    default -> dispatch(d.event());
+                }
+            } catch (Exception e) {
+                forward(batch, d, e);
+            }
+        }
+
+        // 결과는 인식 진행률보다 먼저 write-behind에 넣음: 같은 poll에서 completed가 되면
+        // recordRecognition이 flush할 때 이 결과들도 함께 DB에 반영된 뒤 completed가 나감
+        boolean saved = true;
+        try {
+            inMemoryReportRepository.saveGradingResults(examCode, results);
+            inMemoryReportRepository.saveFallbackItems(examCode, fallbacks);
+            results.forEach((studentId, result) -> studentAnswerWriteBehind.enqueue(examCode, studentId, result));
+        } catch (Exception e) {
+            log.error("Error saving Kafka batch for {}: {}", examCode, e.getMessage());
+            persisted.forEach(d -> forward(batch, d, e));
+            saved = false;
+        }
+
+        if (!recognitions.isEmpty()) {
+            SseService.SessionInfo session = sseService.getSession(examCode);
+            if (session == null) {
+                log.warn("[WARN] No session found for examCode: {}", examCode);
+            } else {
+                ProgressSnapshot last = null;
+                List<String> filenames = new ArrayList<>();
+                List<String> unknownUrls = new ArrayList<>();
+                for (Decoded d : recognitions) {
+                    RecognitionEvent event = (RecognitionEvent) d.event();
+                    try {
+                        ProgressSnapshot p = recordRecognition(examCode, session, event, unknownUrls);
+                        if (p != null) {
+                            last = p;
+                            if (event.filename() != null)
+                                filenames.add(event.filename());
+                        }
+                    } catch (Exception e) {
+                        forward(batch, d, e);
+                    }
+                }
+                if (!unknownUrls.isEmpty())
+                    inMemoryReportRepository.saveUnknownImages(examCode, unknownUrls);
+                if (last != null) {
+                    log.info("[PROGRESS] {} -> {}/{} ({}) +{} pages", examCode, last.index(), last.total(),
+                            last.status(), filenames.size());
+                    progressCoalescer.submit(examCode, last.index(), last.total(), last.status(), filenames,
+                            unknownUrls.isEmpty() ? null : unknownUrls);
+                }
             }
         }
+        // 시험당 poll마다 진행률 SSE는 한 번만
+        progressCoalescer.flush(examCode);
 
-        // Handle snake_case and camelCase for compatibility
-        String rawExamCode = (String) event.getOrDefault("examCode", event.get("exam_code"));
-        String examCode = rawExamCode != null ? rawExamCode.trim().toUpperCase() : null;
-        String studentId = (String) event.getOrDefault("studentId", event.get("student_id"));
-        String filename = (String) event.getOrDefault("filename", event.get("fileName"));
+        for (String error : errors) {
+            sseService.sendEvent(examCode, "error_occurred", new RawValue(error));
+        }
+        if (!saved)
+            return;
+        for (Map.Entry<String, String> e : immediate) {
+            sseService.sendEvent(examCode, e.getKey(), new RawValue(e.getValue()));
+        }
+    }
+
+    private void forward(ExamBatch batch, Decoded d, Exception cause) {
+        retryForwarder.forward(d.record(), cause);
+        batch.forwarded.add(d);
+    }
+
+    private static String normalize(String examCode) {
+        return examCode != null ? examCode.trim().toUpperCase() : null;
+    }
+
+    private void dispatch(ResultEvent event) throws Exception {
+        switch (event) {
+            case RecognitionEvent r -> handleRecognitionProgress(r);
+            case AttendanceUploadEvent a ->
+                log.info("📂 Attendance file upload event received. ExamCode: {}, URL: {}", a.examCode(),
+                        a.downloadUrl());
+            case AnswerFallbackEvent f -> {
+                String fallbackExamCode = normalize(f.examCode());
+                log.info("🚨 Fallback requested for Exam: {}, Question: {}", fallbackExamCode, f.questionNum());
+                inMemoryReportRepository.saveFallbackItem(fallbackExamCode, f.payload());
+                sendImmediately(fallbackExamCode, "fallback_required", f.rawJson());
+            }
+            case AnswerResultEvent r -> {
+                String resultExamCode = normalize(r.examCode());
+                log.info("✅ Answer recognition result received for sid: {} in Exam: {}", r.studentId(),
+                        resultExamCode);
+                Map<String, Object> result = r.payload();
+                inMemoryReportRepository.saveGradingResult(resultExamCode, r.studentId(), result);
+                studentAnswerWriteBehind.enqueue(resultExamCode, r.studentId(), result);
+                sendImmediately(resultExamCode, "answer_result", r.rawJson());
+            }
+            case ErrorEvent e -> {
+                log.error("🚨 Error event received from AI Server: {}", e.message());
+                sendImmediately(normalize(e.examCode()), "error_occurred", e.rawJson());
+            }
+            case UnknownEvent u -> log.warn("[WARN] Received unknown event type: {}", u.eventType());
+        }
+    }
 
+    // 개별 이벤트는 병합하지 않고 즉시 전송 (대기 중인 진행률을 먼저 내보내 순서 유지)
+    // 원본 JSON을 RawValue로 감싸 Map으로 풀었다가 다시 직렬화하지 않음
+    private void sendImmediately(String examCode, String eventName, String rawJson) {
+        if (examCode != null)
+            progressCoalescer.flush(examCode);
+        sseService.sendEvent(examCode, eventName, new RawValue(rawJson));
+    }
+
+    /**
+     * 페이지의 업로드 인덱스를 찾습니다.
+     * 1) 이벤트의 uploadIndex (BE가 grading request에 실어 보낸 값)
+     * 2) S3 Key 파일명의 "{index}_" 접두사 (uploads/{examCode}/{index}_{filename})
+     * 둘 다 없으면 null → 파일명 기준 중복 제거로 대체
+     */
+    private Integer resolveUploadIndex(RecognitionEvent event) {
+        if (event.uploadIndex() != null)
+            return event.uploadIndex();
+        String s3Key = event.s3Key();
+        if (s3Key != null) {
+            Matcher m = UPLOAD_INDEX_PATTERN.matcher(s3Key.substring(s3Key.lastIndexOf('/') + 1));
+            if (m.find())
+                return Integer.parseInt(m.group(1));
+        }
+        return null;
+    }
+
+    private void handleRecognitionProgress(RecognitionEvent event) {
+        String examCode = normalize(event.examCode());
         if (examCode == null)
             return;
 
@@ -98,63 +354,63 @@ public class KafkaListenerService {
             return;
         }
 
-        // Deduplication
-        if (filename != null && !filename.isEmpty()) {
-            if (session.processedFiles.contains(filename)) {
-                return; // Skip duplicate
-            }
-            session.processedFiles.add(filename);
+        List<String> unknownUrls = new ArrayList<>();
+        ProgressSnapshot progress = recordRecognition(examCode, session, event, unknownUrls);
+        if (progress == null) {
+            return; // Skip duplicate
         }
+        log.info("[PROGRESS] {} -> {}/{} ({})", examCode, progress.index(), progress.total(), progress.status());
 
-        int currentProgress = session.processedFiles.size();
-        int total = 0;
-        Object totalObj = event.getOrDefault("total", null);
-        if (totalObj != null) {
-            try {
-                total = (int) Double.parseDouble(totalObj.toString());
-            } catch (Exception ignored) {
+        if (!unknownUrls.isEmpty())
+            inMemoryReportRepository.saveUnknownImages(examCode, unknownUrls);
+
+        // 페이지마다 보내지 않고 윈도우 단위로 병합된 delta 이벤트로 전송
+        progressCoalescer.submit(examCode, progress.index(), progress.total(), progress.status(), event.filename(),
+                unknownUrls.isEmpty() ? null : unknownUrls);
+    }
+
+    /**
+     * 인식 결과 한 페이지를 세션 진행률에 반영합니다. (단건/배치 공용)
+     * unknown_id 페이지면 헤더 이미지 presigned URL을 unknownUrls에 추가합니다.
+     * @return 갱신된 진행 스냅샷, 중복 페이지면 null
+     */
+    private ProgressSnapshot recordRecognition(String examCode, SseService.SessionInfo session,
+            RecognitionEvent event, List<String> unknownUrls) {
+        // S3 key deduplication: prevent duplicate processing from Lambda
+        // re-invocations
+        String s3Key = event.s3Key();
+        if (s3Key != null && !s3Key.isEmpty()) {
+            if (!examDeduplicator.firstSeen(examCode, "s3:" + s3Key)) {
+                consumerMetrics.dedupHit("s3");
+                return null; // Skip duplicate
             }
         }
 
-        if (total <= 0) {
-            total = session.total;
-        } else {
-            session.total = total;
+        // Deduplication + 진행률 갱신 (업로드 인덱스 비트맵, 스냅샷 CAS)
+        Integer uploadIndex = resolveUploadIndex(event);
+        ProgressSnapshot progress = sseService.recordProcessed(session, uploadIndex, event.filename(),
+                event.total(), event.status());
+        if (progress == null) {
+            consumerMetrics.dedupHit("page");
+            return null;
+        }
+        examObjectIndex.assignStudent(examCode, s3Key, uploadIndex, event.studentId());
+        thumbnailService.submit(examCode, s3Key);
+        // 채점이 끝나면 이 시험의 키는 더 이상 필요 없음 (이후 재전송은 업로드 인덱스 비트맵이 걸러냄)
+        // 완료 이벤트가 나가기 전에 버퍼에 남은 인식 결과를 DB에 반영
+        if ("completed".equals(progress.status())) {
+            studentAnswerWriteBehind.flush(examCode);
+            examDeduplicator.releaseCompleted(examCode, progress.epoch());
         }
-
-        if (total > 0 && currentProgress > total)
-            currentProgress = total;
-
-        String status = (String) event.getOrDefault("status", "processing");
-        if (total > 0 && currentProgress >= total)
-            status = "completed";
-
-        session.index = currentProgress;
-        session.status = status;
-        session.lastUpdateTime = System.currentTimeMillis();
-
-        event.put("examCode", examCode);
-        event.put("index", currentProgress);
-        event.put("total", total);
-        event.put("status", status);
-
-        log.info("[PROGRESS] {} -> {}/{} ({})", examCode, currentProgress, total, status);
 
         // Unknown ID handling
-        if ("unknown_id".equals(studentId)) {
-            if (filename != null) {
-                String unknownS3Key = String.format("header/%s/unknown_id/%s", examCode, filename);
-                String generatedUrl = s3PresignService.generatePresignedGetUrl(unknownS3Key);
-                if (generatedUrl != null) {
-                    List<String> urls = new java.util.ArrayList<>();
-                    urls.add(generatedUrl);
-                    inMemoryReportRepository.saveUnknownImages(examCode, urls);
-                    event.put("presignedUrls", urls);
-                }
-            }
+        if ("unknown_id".equals(event.studentId()) && event.filename() != null) {
+            String unknownS3Key = String.format("header/%s/unknown_id/%s", examCode, event.filename());
+            thumbnailService.submit(examCode, unknownS3Key);
+            String generatedUrl = s3PresignService.generatePresignedGetUrl(unknownS3Key);
+            if (generatedUrl != null)
+                unknownUrls.add(generatedUrl);
         }
-
-        sseService.updateProgress(examCode, currentProgress, total);
-        sseService.sendEvent(examCode, "recognition_update", event);
+        return progress;
     }
 }
@@ -1,48 +1,193 @@
 package com.dankook.mlpa_gradi.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class KafkaProducerService {
 
+    // 채점 요청 전용 producer (KafkaConfig.gradingKafkaTemplate)
+    @Qualifier("gradingKafkaTemplate")
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
     @Value("${kafka.topics.grading-request}")
     private String gradingRequestTopic;
 
-    // 중복 송신 방지용 캐시 (examCode + filename -> timestamp)
-    private final Map<String, Long> lastSentCache = new ConcurrentHashMap<>();
+    @Value("${kafka.producer.batch-timeout-seconds:30}")
+    private long batchTimeoutSeconds;
 
-    public void sendGradingRequest(Map<String, Object> message) {
-        String examCode = (String) message.get("examCode");
-        String filename = (String) message.get("filename");
-        String eventType = (String) message.get("eventType");
-        String cacheKey = examCode + ":" + filename + ":" + eventType;
+    @Value("${kafka.producer.dedup-window-ms:1000}")
+    private long dedupWindowMs;
 
-        long now = System.currentTimeMillis();
-        if (lastSentCache.containsKey(cacheKey) && (now - lastSentCache.get(cacheKey) < 1000)) {
-            log.info("🚫 [KAFKA-SKIP] Duplicate message suppressed: {}", cacheKey);
+    @Value("${kafka.producer.dedup-max-entries:100000}")
+    private long dedupMaxEntries;
+
+    // 중복 송신 방지용 캐시 (examCode + filename + eventType), 윈도우가 지나면 자동 만료 + 개수 제한
+    private Cache<String, Boolean> recentlySent;
+
+    // 토픽별 전송 결과/지연 시간 메트릭
+    private final Map<String, TopicMeters> topicMeters = new ConcurrentHashMap<>();
+
+    private record TopicMeters(Counter success, Counter failure, Timer latency) {
+    }
+
+    public enum SendStatus {
+        PUBLISHED, DUPLICATE, FAILED
+    }
+
+    public record SendResult(SendStatus status, String error) {
+    }
+
+    @PostConstruct
+    public void init() {
+        recentlySent = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(dedupWindowMs))
+                .maximumSize(dedupMaxEntries)
+                .build();
+    }
+
+    public void sendGradingRequest(Map<String, Object> message) {
+        String dedupKey = dedupKey(message);
+        if (isDuplicate(dedupKey))
             return;
-        }
-        lastSentCache.put(cacheKey, now);
 
         try {
             String jsonMessage = objectMapper.writeValueAsString(message);
-            kafkaTemplate.send(gradingRequestTopic, jsonMessage);
-            log.info("📤 Sent grading request to Kafka topic {}: {}", gradingRequestTopic, jsonMessage);
+            // examCode를 key로 보내 같은 시험은 항상 같은 파티션 → 시험 내 순서 보장, 시험 간 병렬 처리
+            forgetOnFailure(dedupKey,
+                    send(gradingRequestTopic, partitionKey((String) message.get("examCode")), jsonMessage));
+            log.info("📤 Sent grading request to Kafka topic {}: examCode={}, filename={}", gradingRequestTopic,
+                    message.get("examCode"), message.get("filename"));
+            log.debug("📤 Grading request payload: {}", jsonMessage);
         } catch (Exception e) {
+            recentlySent.invalidate(dedupKey);
             log.error("Failed to send grading request to Kafka: {}", e.getMessage());
         }
     }
+
+    // 전송 결과는 비동기로 추적 (호출 스레드는 ack를 기다리지 않음)
+    private CompletableFuture<?> send(String topic, String key, String value) {
+        TopicMeters meters = topicMeters.computeIfAbsent(topic, this::metersFor);
+        long start = System.nanoTime();
+        return kafkaTemplate.send(topic, key, value).whenComplete((result, ex) -> {
+            meters.latency().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (ex == null) {
+                meters.success().increment();
+            } else {
+                meters.failure().increment();
+                log.error("❌ Kafka send to {} failed (key={}): {}", topic, key, ex.getMessage());
+            }
+        });
+    }
+
+    private TopicMeters metersFor(String topic) {
+        return new TopicMeters(
+                Counter.builder("kafka.producer.sends").tag("topic", topic).tag("result", "success")
+                        .register(meterRegistry),
+                Counter.builder("kafka.producer.sends").tag("topic", topic).tag("result", "failure")
+                        .register(meterRegistry),
+                Timer.builder("kafka.producer.send.latency").tag("topic", topic)
+                        .description("Time from send() to broker ack")
+                        .register(meterRegistry));
+    }
+
+    /**
+     * ✅ 여러 채점 요청을 한 번에 발행합니다.
+     * send()를 모두 먼저 호출해 producer가 하나의 배치로 묶어 파이프라이닝하게 하고,
+     * 이 요청의 future들만 기다려 항목별 결과를 입력 순서대로 돌려줍니다.
+     * (flush()는 다른 호출자의 레코드까지 밀어내므로 쓰지 않고, 마지막 배치는 linger.ms 뒤에 전송됨)
+     */
+    public List<SendResult> sendGradingRequests(List<Map<String, Object>> messages) {
+        List<SendResult> results = new ArrayList<>(messages.size());
+        List<CompletableFuture<?>> futures = new ArrayList<>(messages.size());
+
+        for (Map<String, Object> message : messages) {
+            String dedupKey = dedupKey(message);
+            if (isDuplicate(dedupKey)) {
+                results.add(new SendResult(SendStatus.DUPLICATE, null));
+                futures.add(null);
+                continue;
+            }
+            try {
+                String jsonMessage = objectMapper.writeValueAsString(message);
+                futures.add(forgetOnFailure(dedupKey,
+                        send(gradingRequestTopic, partitionKey((String) message.get("examCode")), jsonMessage)));
+                results.add(null);
+            } catch (Exception e) {
+                recentlySent.invalidate(dedupKey);
+                results.add(new SendResult(SendStatus.FAILED, e.getMessage()));
+                futures.add(null);
+            }
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(batchTimeoutSeconds);
+        for (int i = 0; i < futures.size(); i++) {
+            CompletableFuture<?> future = futures.get(i);
+            if (future == null)
+                continue;
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                results.set(i, new SendResult(SendStatus.PUBLISHED, null));
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                results.set(i, new SendResult(SendStatus.FAILED, cause.getMessage()));
+            } catch (Exception e) {
+                // 시간 초과도 실패로 응답하므로 클라이언트가 다시 보낼 수 있게 표시를 지움
+                recentlySent.invalidate(dedupKey(messages.get(i)));
+                results.set(i, new SendResult(SendStatus.FAILED, e.getClass().getSimpleName()));
+            }
+        }
+
+        long published = results.stream().filter(r -> r.status() == SendStatus.PUBLISHED).count();
+        log.info("📤 Sent {} of {} grading requests to Kafka topic {} in one batch", published, messages.size(),
+                gradingRequestTopic);
+        return results;
+    }
+
+    private static String dedupKey(Map<String, Object> message) {
+        return message.get("examCode") + ":" + message.get("filename") + ":" + message.get("eventType");
+    }
+
+    // 전송 전에 먼저 표시해 동시에 들어온 같은 요청을 막고, 전송이 실패하면 표시를 지워 클라이언트 재시도를 허용
+    private boolean isDuplicate(String cacheKey) {
+        if (recentlySent.asMap().putIfAbsent(cacheKey, Boolean.TRUE) != null) {
+            log.info("🚫 [KAFKA-SKIP] Duplicate message suppressed: {}", cacheKey);
+            return true;
+        }
+        return false;
+    }
+
+    private CompletableFuture<?> forgetOnFailure(String cacheKey, CompletableFuture<?> future) {
+        return future.whenComplete((result, ex) -> {
+            if (ex != null)
+                recentlySent.invalidate(cacheKey);
+        });
+    }
+
+    private static String partitionKey(String examCode) {
+        return examCode != null ? examCode.trim().toUpperCase() : null;
+    }
 }
@@ -6,6 +6,7 @@ import com.dankook.mlpa_gradi.entity.Student;
 import com.dankook.mlpa_gradi.entity.StudentAnswer;
 import com.dankook.mlpa_gradi.repository.ExamRepository;
 import com.dankook.mlpa_gradi.repository.StudentAnswerRepository;
+import com.dankook.mlpa_gradi.service.persistence.StudentAnswerWriteBehind;
 import com.itextpdf.io.font.FontProgram;
 import com.itextpdf.io.font.FontProgramFactory;
 import com.itextpdf.io.font.PdfEncodings;
@@ -42,6 +43,7 @@ public class PdfService {
         private final ResourceLoader resourceLoader;
         private final ExamRepository examRepository;
         private final StudentAnswerRepository studentAnswerRepository;
+        private final StudentAnswerWriteBehind studentAnswerWriteBehind;
         private final WebClient aiWebClient;
 
         /**
@@ -70,7 +72,8 @@ public class PdfService {
                                 System.err.println("⚠️ Font load failed, using fallback: " + e.getMessage());
                         }
 
-                        // 2. 데이터 조회
+                        // 2. 데이터 조회 (버퍼에 남은 인식 결과를 먼저 반영)
+                        studentAnswerWriteBehind.flush(examCode);
                         Exam exam = examRepository.findByExamCode(examCode)
                                         .orElseThrow(() -> new NoSuchElementException("Exam not found: " + examCode));
 
@@ -2,14 +2,22 @@ package com.dankook.mlpa_gradi.service;
 
 import com.dankook.mlpa_gradi.dto.PresignRequest;
 import com.dankook.mlpa_gradi.dto.PresignResponse;
+import com.dankook.mlpa_gradi.dto.ReviewImageResponse;
+import com.dankook.mlpa_gradi.service.s3.ExamObjectIndex;
+import com.dankook.mlpa_gradi.service.s3.ParallelPresigner;
+import com.dankook.mlpa_gradi.service.s3.PrefixDeleteResult;
+import com.dankook.mlpa_gradi.service.s3.S3AsyncStorageService;
+import com.dankook.mlpa_gradi.service.s3.ThumbnailService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
-import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
-import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
@@ -20,10 +28,12 @@ import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 import java.time.Duration;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -32,6 +42,15 @@ public class S3PresignService {
 
         private final S3Presigner presigner;
         private final S3Client s3Client;
+        private final MeterRegistry meterRegistry;
+        private final ExamObjectIndex examObjectIndex;
+        // 나열/삭제는 S3AsyncClient로 (요청 스레드를 S3 왕복 동안 붙잡지 않음)
+        private final S3AsyncStorageService s3AsyncStorageService;
+        // 검토 화면용 썸네일 (thumb/{examCode}/)
+        private final ThumbnailService thumbnailService;
+
+        // 서명 유효 시간 (모든 presigned URL 공통)
+        private static final Duration SIGNATURE_DURATION = Duration.ofMinutes(10);
 
         @Value("${aws.s3.bucket}")
         private String bucket;
@@ -42,6 +61,67 @@ public class S3PresignService {
         @Value("${app.frontend.url}")
         private String frontendUrl;
 
+        // 캐시 보관 시간은 서명 유효 시간보다 짧아야 함 (받은 URL이 최소 그 차이만큼은 유효)
+        @Value("${aws.s3.presign-cache.ttl-seconds:480}")
+        private long presignCacheTtlSeconds;
+
+        @Value("${aws.s3.presign-cache.max-entries:50000}")
+        private long presignCacheMaxEntries;
+
+        // (method, key) → presigned URL
+        private record PresignKey(String method, String key) {
+        }
+
+        private Cache<PresignKey, String> presignCache;
+
+        // 배치 서명 병렬도 (기본: 코어 수) / 이보다 작은 배치는 순차 처리
+        @Value("${aws.s3.presign-batch.parallelism:0}")
+        private int presignParallelism;
+
+        @Value("${aws.s3.presign-batch.sequential-threshold:64}")
+        private int presignSequentialThreshold;
+
+        private ParallelPresigner parallelPresigner;
+
+        // 객체 인덱스를 S3 나열로 다시 맞추는 주기 (조회 시점에 확인)
+        @Value("${aws.s3.index.max-age-minutes:30}")
+        private long indexMaxAgeMinutes;
+
+        // {prefix}/{examCode}/{index}_{filename} 의 업로드 인덱스
+        private static final java.util.regex.Pattern UPLOAD_INDEX_PATTERN = java.util.regex.Pattern
+                        .compile("^(\\d{1,7})_");
+
+        /**
+         * ✅ Presigned GET URL 캐시
+         * 검토 페이지(unknown/학생 이미지)를 오갈 때마다 같은 키를 다시 서명하지 않도록 URL을 재사용합니다.
+         * 만료 전에 내보낸 URL이 서명 시간 안에서 쓰이도록 TTL을 10분보다 짧게(기본 8분) 둡니다.
+         */
+        @PostConstruct
+        public void initPresigning() {
+                if (presignCacheTtlSeconds >= SIGNATURE_DURATION.toSeconds()) {
+                        throw new IllegalStateException("aws.s3.presign-cache.ttl-seconds must be shorter than "
+                                        + SIGNATURE_DURATION.toSeconds() + "s signature duration");
+                }
+                presignCache = Caffeine.newBuilder()
+                                .expireAfterWrite(Duration.ofSeconds(presignCacheTtlSeconds))
+                                .maximumSize(presignCacheMaxEntries)
+                                .recordStats()
+                                .build();
+                // cache.gets{result=hit|miss}, cache.evictions 등 (hit ratio = hit / (hit + miss))
+                CaffeineCacheMetrics.monitor(meterRegistry, presignCache, "s3.presign");
+
+                int parallelism = presignParallelism > 0 ? presignParallelism
+                                : Runtime.getRuntime().availableProcessors();
+                parallelPresigner = new ParallelPresigner(presigner, bucket, SIGNATURE_DURATION, parallelism,
+                                presignSequentialThreshold);
+        }
+
+        @PreDestroy
+        public void closePresigning() {
+                if (parallelPresigner != null)
+                        parallelPresigner.close();
+        }
+
         /**
          * ✅ 서버 시작 시 S3 버킷의 CORS 설정을 자동으로 업데이트합니다.
          * 프론트엔드에서 Presigned URL로 직접 업로드할 때 발생하는 CORS 오류를 방지합니다.
@@ -105,7 +185,7 @@ public class S3PresignService {
                                 .build();
 
                 PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
-                                .signatureDuration(Duration.ofMinutes(10))
+                                .signatureDuration(SIGNATURE_DURATION)
                                 .putObjectRequest(putObjectRequest)
                                 .build();
 
@@ -122,11 +202,11 @@ public class S3PresignService {
         }
 
         // ✅ 배치 이미지 Presigned URL 생성
+        // 형식 검증과 키 생성을 먼저 끝낸 뒤(하나라도 잘못되면 서명 없이 거절) 서명만 병렬로 수행
         public com.dankook.mlpa_gradi.dto.BatchPresignResponse createBatchPutUrls(
                         com.dankook.mlpa_gradi.dto.BatchPresignRequest req) {
-                java.util.List<com.dankook.mlpa_gradi.dto.BatchPresignResponse.PresignedUrl> urls = new java.util.ArrayList<>();
-
-                for (com.dankook.mlpa_gradi.dto.BatchPresignRequest.ImageInfo img : req.getImages()) {
+                List<com.dankook.mlpa_gradi.dto.BatchPresignRequest.ImageInfo> images = req.getImages();
+                for (com.dankook.mlpa_gradi.dto.BatchPresignRequest.ImageInfo img : images) {
                         String contentType = img.getContentType();
                         if (contentType == null ||
                                         !(contentType.equals("image/png")
@@ -134,7 +214,13 @@ public class S3PresignService {
                                                         || contentType.equals("image/jpeg"))) {
                                 throw new IllegalArgumentException("Only PNG/JPG/JPEG allowed");
                         }
+                }
 
+                String total = String.valueOf(req.getTotal());
+                List<String> filenames = new java.util.ArrayList<>(images.size());
+                List<ParallelPresigner.PutTarget> targets = new java.util.ArrayList<>(images.size());
+                for (com.dankook.mlpa_gradi.dto.BatchPresignRequest.ImageInfo img : images) {
+                        String contentType = img.getContentType();
                         String ext = contentType.equals("image/png") ? "png" : "jpg";
                         String filename = img.getFilename() != null ? img.getFilename() : (img.getIndex() + "." + ext);
 
@@ -145,23 +231,23 @@ public class S3PresignService {
                                         img.getIndex(),
                                         filename);
 
-                        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                                        .bucket(bucket)
-                                        .key(key)
-                                        .contentType(contentType.equals("image/jpg") ? "image/jpeg" : contentType)
-                                        .metadata(java.util.Map.of(
-                                                        "total", String.valueOf(req.getTotal()),
-                                                        "index", String.valueOf(img.getIndex())))
-                                        .build();
+                        filenames.add(filename);
+                        examObjectIndex.put(req.getExamCode(),
+                                        new ExamObjectIndex.ExamObject(key, img.getIndex(), null, null, null));
+                        targets.add(new ParallelPresigner.PutTarget(key,
+                                        contentType.equals("image/jpg") ? "image/jpeg" : contentType,
+                                        java.util.Map.of(
+                                                        "total", total,
+                                                        "index", String.valueOf(img.getIndex()))));
+                }
 
-                        PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
-                                        .signatureDuration(Duration.ofMinutes(10))
-                                        .putObjectRequest(putObjectRequest)
-                                        .build();
+                List<String> signed = parallelPresigner.presignPuts(targets);
 
-                        String url = presigner.presignPutObject(presignRequest).url().toString();
-                        urls.add(new com.dankook.mlpa_gradi.dto.BatchPresignResponse.PresignedUrl(img.getIndex(),
-                                        filename, url));
+                java.util.List<com.dankook.mlpa_gradi.dto.BatchPresignResponse.PresignedUrl> urls = new java.util.ArrayList<>(
+                                images.size());
+                for (int i = 0; i < images.size(); i++) {
+                        urls.add(new com.dankook.mlpa_gradi.dto.BatchPresignResponse.PresignedUrl(
+                                        images.get(i).getIndex(), filenames.get(i), signed.get(i)));
                 }
 
                 log.info("📡 Generated {} presigned URLs for examCode: {}", urls.size(), req.getExamCode());
@@ -187,7 +273,7 @@ public class S3PresignService {
                                 .build();
 
                 PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
-                                .signatureDuration(Duration.ofMinutes(10))
+                                .signatureDuration(SIGNATURE_DURATION)
                                 .putObjectRequest(putObjectRequest)
                                 .build();
 
@@ -213,155 +299,177 @@ public class S3PresignService {
                         throw new NoSuchElementException("Attendance file not found for exam: " + examCode);
                 }
 
-                String key = listResponse.contents().get(0).key();
-
-                GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                                .bucket(bucket)
-                                .key(key)
-                                .build();
-
-                GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                                .signatureDuration(Duration.ofMinutes(10))
-                                .getObjectRequest(getObjectRequest)
-                                .build();
-
-                return presigner.presignGetObject(presignRequest).url().toString();
+                return generatePresignedGetUrl(listResponse.contents().get(0).key());
         }
 
         /**
          * ✅ 특정 시험의 모든 S3 데이터 삭제 (이미지 + 출석부)
          */
-        public void deleteByExamCode(String examCode) {
-                String trimmed = examCode.trim();
-                log.info("🗑️ Deleting all S3 objects for exam: {}", trimmed);
-
-                // 1. 이미지 삭제 (uploads/{examCode}/)
-                int c1 = deleteObjectsWithPrefix(String.format("%s/%s/", prefix, trimmed));
-
-                // 2. 출석부 삭제 (attendance/{examCode}/)
-                int c2 = deleteObjectsWithPrefix(String.format("attendance/%s/", trimmed));
-
-                // 3. 인식되지 않은 헤더 이미지 삭제 (header/{examCode}/)
-                int c3 = deleteObjectsWithPrefix(String.format("header/%s/", trimmed));
-
-                log.info("✅ S3 cleanup for {} finished. Deleted: uploads({}) attendance({}) header({})",
-                                trimmed, c1, c2, c3);
+        public List<PrefixDeleteResult> deleteByExamCode(String examCode) {
+                return deleteByExamCodeAsync(examCode).join();
         }
 
-        private int deleteObjectsWithPrefix(String prefix) {
-                try {
-                        ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
-                                        .bucket(bucket)
-                                        .prefix(prefix)
-                                        .build();
-
-                        ListObjectsV2Response listResponse = s3Client.listObjectsV2(listRequest);
-
-                        if (!listResponse.contents().isEmpty()) {
-                                List<ObjectIdentifier> identifiers = listResponse.contents().stream()
-                                                .map(obj -> ObjectIdentifier.builder().key(obj.key()).build())
-                                                .toList();
-
-                                DeleteObjectsRequest deleteRequest = DeleteObjectsRequest.builder()
-                                                .bucket(bucket)
-                                                .delete(d -> d.objects(identifiers))
-                                                .build();
+        /**
+         * ✅ 특정 시험의 모든 S3 데이터 삭제 (non-blocking)
+         * uploads / attendance / header / thumb 네 prefix를 동시에 지우고, 끝나면 캐시와 객체 인덱스를 정리합니다.
+         */
+        public CompletableFuture<List<PrefixDeleteResult>> deleteByExamCodeAsync(String examCode) {
+                String trimmed = examCode.trim();
+                log.info("🗑️ Deleting all S3 objects for exam: {}", trimmed);
 
-                                s3Client.deleteObjects(deleteRequest);
-                                return identifiers.size();
-                        }
-                        return 0;
-                } catch (Exception e) {
-                        log.error("❌ Failed to delete S3 objects with prefix {}: {}", prefix, e.getMessage());
-                        return -1;
-                }
+                List<String> prefixes = List.of(
+                                String.format("%s/%s/", prefix, trimmed), // 1. 이미지 (uploads/{examCode}/)
+                                String.format("attendance/%s/", trimmed), // 2. 출석부 (attendance/{examCode}/)
+                                String.format("header/%s/", trimmed), // 3. 인식되지 않은 헤더 이미지 (header/{examCode}/)
+                                thumbnailService.prefix(trimmed)); // 4. 검토용 썸네일 (thumb/{examCode}/)
+
+                return s3AsyncStorageService.deletePrefixes(prefixes).thenApply(results -> {
+                        PrefixDeleteResult r1 = results.get(0);
+                        PrefixDeleteResult r2 = results.get(1);
+                        PrefixDeleteResult r3 = results.get(2);
+                        PrefixDeleteResult r4 = results.get(3);
+                        log.info("✅ S3 cleanup for {} finished. Deleted/listed: uploads({}/{}) attendance({}/{}) header({}/{}) thumb({}/{})",
+                                        trimmed, r1.deleted(), r1.listed(), r2.deleted(), r2.listed(), r3.deleted(),
+                                        r3.listed(), r4.deleted(), r4.listed());
+
+                        // 삭제된 객체의 URL은 더 이상 내보내지 않음
+                        String segment = "/" + trimmed + "/";
+                        presignCache.asMap().keySet().removeIf(k -> k.key().contains(segment));
+                        examObjectIndex.remove(trimmed);
+                        thumbnailService.discard(trimmed);
+                        return results;
+                });
         }
 
         /**
          * ✅ 특정 학생의 채점 이미지 Presigned URL 목록 조회
-         * "answer/{exam code}/{학번}/..." 경로를 먼저 조회하고 없으면 기존 "uploads/..." 조회
          */
         public java.util.List<String> getStudentImageUrls(String examCode, String studentId) {
-                String answerPrefix = String.format("answer/%s/%s/", examCode, studentId);
-                log.info("🔍 Searching for student images in: {}", answerPrefix);
+                return getStudentImageUrlsAsync(examCode, studentId).join();
+        }
 
-                ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
-                                .bucket(bucket)
-                                .prefix(answerPrefix)
-                                .build();
+        /**
+         * ✅ 특정 학생의 채점 이미지 Presigned URL 목록 조회 (non-blocking)
+         * 시험 객체 인덱스에서 찾습니다. "answer/{exam code}/{학번}/..." 이미지가 있으면 그것을, 없으면
+         * 학번이 인식된 업로드 원본 페이지를 돌려줍니다. (인덱스가 없거나 오래된 시험만 S3를 한 번 나열)
+         */
+        public CompletableFuture<List<String>> getStudentImageUrlsAsync(String examCode, String studentId) {
+                return getStudentImageKeysAsync(examCode, studentId).thenApply(this::generatePresignedGetUrls);
+        }
 
-                ListObjectsV2Response listResponse = s3Client.listObjectsV2(listRequest);
+        /**
+         * ✅ 학생 채점 이미지 검토용 목록 (썸네일 + 원본 링크)
+         */
+        public CompletableFuture<List<ReviewImageResponse>> getStudentReviewImagesAsync(String examCode,
+                        String studentId) {
+                return getStudentImageKeysAsync(examCode, studentId).thenApply(keys -> toReviewImages(examCode, keys));
+        }
 
-                if (listResponse.contents().isEmpty()) {
-                        log.info("ℹ️ No images in {}, falling back to uploads/ prefix", answerPrefix);
-                        String uploadsPrefix = String.format("%s/%s/", prefix, examCode);
-                        listRequest = ListObjectsV2Request.builder()
-                                        .bucket(bucket)
-                                        .prefix(uploadsPrefix)
-                                        .build();
-                        listResponse = s3Client.listObjectsV2(listRequest);
+        private CompletableFuture<List<String>> getStudentImageKeysAsync(String examCode, String studentId) {
+                CompletableFuture<Integer> ready = examObjectIndex.needsRebuild(examCode,
+                                Duration.ofMinutes(indexMaxAgeMinutes).toMillis())
+                                                ? rebuildObjectIndexAsync(examCode)
+                                                : CompletableFuture.completedFuture(0);
+
+                return ready.thenApply(ignored -> {
+                        List<String> keys = examObjectIndex.keysForStudent(examCode, studentId);
+                        List<String> answerKeys = keys.stream().filter(key -> key.startsWith("answer/")).toList();
+                        if (answerKeys.isEmpty()) {
+                                log.info("ℹ️ No answer images for {} in {}, using {} uploaded pages", studentId,
+                                                examCode, keys.size());
+                                return keys;
+                        }
+                        return answerKeys;
+                });
+        }
 
-                        return listResponse.contents().stream()
-                                        .filter(obj -> obj.key().contains(studentId))
-                                        .map(obj -> generatePresignedGetUrl(obj.key()))
-                                        .toList();
-                }
+        public int rebuildObjectIndex(String examCode) {
+                return rebuildObjectIndexAsync(examCode).join();
+        }
 
-                return listResponse.contents().stream()
-                                .map(obj -> generatePresignedGetUrl(obj.key()))
-                                .toList();
+        /**
+         * ✅ 시험 객체 인덱스 재구성 (uploads/{examCode}/ + answer/{examCode}/ 를 동시에 나열)
+         * 업로드 원본은 파일명의 "{index}_"에서 페이지 인덱스를, answer 이미지는 경로에서 학번을 얻습니다.
+         * @return 인덱싱된 객체 수
+         */
+        public CompletableFuture<Integer> rebuildObjectIndexAsync(String examCode) {
+                String trimmed = examCode.trim();
+                String uploadsPrefix = String.format("%s/%s/", prefix, trimmed);
+                String answerPrefix = String.format("answer/%s/", trimmed);
+
+                CompletableFuture<List<ExamObjectIndex.ExamObject>> uploads = s3AsyncStorageService
+                                .list(uploadsPrefix)
+                                .thenApply(list -> list.stream().map(obj -> {
+                                        String name = obj.key().substring(uploadsPrefix.length());
+                                        java.util.regex.Matcher m = UPLOAD_INDEX_PATTERN.matcher(name);
+                                        Integer pageIndex = m.find() ? Integer.valueOf(m.group(1)) : null;
+                                        return new ExamObjectIndex.ExamObject(obj.key(), pageIndex, null, obj.size(),
+                                                        obj.eTag());
+                                }).toList());
+
+                CompletableFuture<List<ExamObjectIndex.ExamObject>> answers = s3AsyncStorageService
+                                .list(answerPrefix)
+                                .thenApply(list -> list.stream().map(obj -> {
+                                        String rest = obj.key().substring(answerPrefix.length());
+                                        int slash = rest.indexOf('/');
+                                        String studentId = slash > 0 ? rest.substring(0, slash) : null;
+                                        return new ExamObjectIndex.ExamObject(obj.key(), null, studentId, obj.size(),
+                                                        obj.eTag());
+                                }).toList());
+
+                return uploads.thenCombine(answers, (u, a) -> {
+                        List<ExamObjectIndex.ExamObject> objects = new java.util.ArrayList<>(u.size() + a.size());
+                        objects.addAll(u);
+                        objects.addAll(a);
+                        examObjectIndex.replace(trimmed, objects);
+                        return objects.size();
+                });
         }
 
         /**
          * ✅ 특정 시험의 인식되지 않은 학번 이미지(unknown_id) Presigned URL 목록 조회
          */
         public java.util.List<String> getUnknownIdImageUrls(String examCode) {
+                return getUnknownIdImageUrlsAsync(examCode).join();
+        }
+
+        /**
+         * ✅ unknown_id 이미지 나열 → presign 체인 (non-blocking, 나열 실패 시 빈 목록)
+         */
+        public CompletableFuture<List<String>> getUnknownIdImageUrlsAsync(String examCode) {
+                return getUnknownIdImageKeysAsync(examCode).thenApply(this::generatePresignedGetUrls);
+        }
+
+        /**
+         * ✅ unknown_id 헤더 이미지 key 목록 (나열 실패 시 빈 목록)
+         */
+        public CompletableFuture<List<String>> getUnknownIdImageKeysAsync(String examCode) {
                 String folderPrefix = String.format("header/%s/unknown_id/", examCode);
                 log.info("🔍 Listing unknown images in S3: bucket={}, prefix={}", bucket, folderPrefix);
 
-                software.amazon.awssdk.services.s3.model.ListObjectsV2Request listRequest = software.amazon.awssdk.services.s3.model.ListObjectsV2Request
-                                .builder()
-                                .bucket(bucket)
-                                .prefix(folderPrefix)
-                                .build();
-
-                try {
-                        software.amazon.awssdk.services.s3.model.ListObjectsV2Response listResponse = s3Client
-                                        .listObjectsV2(listRequest);
-
-                        log.info("✅ S3 Listing found {} objects for {}", listResponse.contents().size(), examCode);
-
-                        return listResponse.contents().stream()
-                                        .map(obj -> {
-                                                software.amazon.awssdk.services.s3.model.GetObjectRequest getObjectRequest = software.amazon.awssdk.services.s3.model.GetObjectRequest
-                                                                .builder()
-                                                                .bucket(bucket)
-                                                                .key(obj.key())
-                                                                .build();
-
-                                                software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest presignRequest = software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest
-                                                                .builder()
-                                                                .signatureDuration(java.time.Duration.ofMinutes(10))
-                                                                .getObjectRequest(getObjectRequest)
-                                                                .build();
-
-                                                return presigner.presignGetObject(presignRequest).url().toString();
-                                        })
-                                        .toList();
-                } catch (Exception e) {
-                        log.error("❌ Failed to list objects from S3: {}", e.getMessage());
-                        return java.util.Collections.emptyList();
-                }
+                return s3AsyncStorageService.listKeys(folderPrefix)
+                                .thenApply(keys -> {
+                                        log.info("✅ S3 Listing found {} objects for {}", keys.size(), examCode);
+                                        return keys;
+                                })
+                                .exceptionally(e -> {
+                                        log.error("❌ Failed to list objects from S3: {}", e.getMessage());
+                                        return java.util.Collections.emptyList();
+                                });
         }
 
         /**
          * ✅ 특정 키에 대한 Presigned GET URL 생성 (AI 서버 또는 내부 확인용)
+         * 같은 키는 캐시 TTL 동안 다시 서명하지 않습니다. (실패는 캐시하지 않음)
          */
         public String generatePresignedGetUrl(String key) {
                 if (key == null || key.isEmpty()) {
                         return null;
                 }
+                return presignCache.get(new PresignKey("GET", key), k -> presignGet(k.key()));
+        }
 
+        private String presignGet(String key) {
                 try {
                         GetObjectRequest getObjectRequest = GetObjectRequest.builder()
                                         .bucket(bucket)
@@ -369,14 +477,44 @@ public class S3PresignService {
                                         .build();
 
                         GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                                        .signatureDuration(Duration.ofMinutes(10))
+                                        .signatureDuration(SIGNATURE_DURATION)
                                         .getObjectRequest(getObjectRequest)
                                         .build();
 
                         return presigner.presignGetObject(presignRequest).url().toString();
                 } catch (Exception e) {
-                        System.err.println("❌ Failed to generate presigned URL for key: " + key);
+                        log.warn("❌ Failed to generate presigned URL for key: {}", key, e);
                         return null;
                 }
         }
+
+        /**
+         * ✅ 여러 키의 Presigned GET URL을 한 번에 생성 (입력 순서 유지, 실패한 키는 null)
+         * 캐시에 없는 키가 많으면 서명을 병렬로 수행합니다.
+         */
+        public List<String> generatePresignedGetUrls(List<String> keys) {
+                return parallelPresigner.map(keys, this::generatePresignedGetUrl);
+        }
+
+        /**
+         * ✅ 검토 화면용 이미지 목록 (원본 key 순서 유지)
+         * 썸네일이 준비된 key는 썸네일/헤더 크롭 URL을, 아직 없으면 원본 URL을 돌려주고 생성을 예약합니다.
+         */
+        public List<ReviewImageResponse> toReviewImages(String examCode, List<String> keys) {
+                return parallelPresigner.map(keys, key -> {
+                        String originalUrl = generatePresignedGetUrl(key);
+                        String thumbnailUrl = thumbnailService.thumbnailKey(examCode, key)
+                                        .map(this::generatePresignedGetUrl)
+                                        .orElse(null);
+                        if (thumbnailUrl == null) {
+                                thumbnailService.submit(examCode, key);
+                                thumbnailUrl = originalUrl;
+                        }
+                        String headerUrl = thumbnailService.headerKey(examCode, key)
+                                        .map(this::generatePresignedGetUrl)
+                                        .orElse(null);
+                        return new ReviewImageResponse(key.substring(key.lastIndexOf('/') + 1), thumbnailUrl,
+                                        headerUrl, originalUrl);
+                });
+        }
 }
@@ -1,44 +1,157 @@
 package com.dankook.mlpa_gradi.service;
 
+import com.dankook.mlpa_gradi.dto.ProgressSnapshot;
+import com.dankook.mlpa_gradi.service.backpressure.SinkBacklog;
+import com.dankook.mlpa_gradi.service.dedup.ExamDeduplicator;
+import com.dankook.mlpa_gradi.service.progress.ProgressStateStore;
+import com.dankook.mlpa_gradi.service.sse.DashboardStream;
+import com.dankook.mlpa_gradi.service.sse.HeartbeatWheel;
+import com.dankook.mlpa_gradi.service.sse.PageBitmap;
+import com.dankook.mlpa_gradi.service.sse.SseEventLog;
+import com.dankook.mlpa_gradi.service.sse.SseFrame;
+import com.dankook.mlpa_gradi.service.sse.SseSubscriber;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class SseService {
 
+    // 버퍼링 방지용 패딩 (매 전송마다 새로 만들지 않도록 상수화)
+    private static final String INIT_PADDING = "init" + " ".repeat(4096);
+    private static final String EVENT_PADDING = " ".repeat(1024);
+    private static final String HEARTBEAT_PADDING = "heartbeat" + " ".repeat(512);
+
     private final ObjectMapper objectMapper;
+    private final HeartbeatWheel heartbeatWheel;
+    private final MeterRegistry meterRegistry;
+    // 다른 BE 레플리카와 진행 상태를 공유하는 백엔드 (memory | kafka)
+    private final ProgressStateStore progressStateStore;
+    // 관리자 대시보드 멀티플렉스 스트림 (진행 상태 delta 전달)
+    private final DashboardStream dashboardStream;
+    // 업로드 인덱스가 없는 페이지의 파일명 중복 제거 (시험 단위, 만료/용량 제한)
+    private final ExamDeduplicator examDeduplicator;
+    // 구독자 큐에 쌓인 프레임 수 (Kafka 리스너 backpressure)
+    private final SinkBacklog sinkBacklog;
     private final Map<String, SessionInfo> sessions = new ConcurrentHashMap<>();
 
+    // 구독자별 큐를 비우는 dispatcher (blocking write는 가상 스레드에서 수행)
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${sse.subscriber.queue-capacity:256}")
+    private int subscriberQueueCapacity;
+
+    @Value("${sse.replay.capacity:1024}")
+    private int replayCapacity;
+
+    @Value("${sse.reactive.event-buffer:256}")
+    private int reactiveEventBuffer;
+
+    @Value("${sse.reactive.heartbeat-seconds:15}")
+    private long reactiveHeartbeatSeconds;
+
     public static class SessionInfo {
-        public SseEmitter emitter;
+        // 같은 시험을 보는 여러 탭/채점자/프로젝터 (구독자별 독립 큐)
+        public final Set<SseSubscriber> subscribers = ConcurrentHashMap.newKeySet();
         public final String examCode;
-        public String examName = "Unknown";
-        public int index = 0;
-        public int total = 0;
-        public String status = "processing";
-        public long lastUpdateTime;
-        // Deduplication: Track processed filenames to prevent counting duplicates
-        public final Set<String> processedFiles = new HashSet<>();
-
-        public SessionInfo(String examCode, String examName, int total) {
+        public volatile long lastUpdateTime;
+        // Last-Event-ID 재연결 시 놓친 이벤트를 다시 보내기 위한 리플레이 로그
+        public final SseEventLog eventLog;
+        // WebFlux 스트림 구독자용 시험별 멀티캐스트 sink (eventLog 락 안에서만 emit)
+        public final Sinks.Many<SseFrame> sink = Sinks.many().multicast().directBestEffort();
+
+        // 진행 상태: 버전이 붙은 불변 스냅샷을 CAS로만 교체 (Kafka/HTTP/스케줄러 스레드 동시 접근)
+        private final AtomicReference<ProgressSnapshot> progress;
+        // Deduplication: 업로드 인덱스 기준 처리 페이지 비트맵 (새 채점 시 통째로 교체)
+        private volatile PageBitmap pages = new PageBitmap();
+        // 업로드 인덱스를 알 수 없는 이벤트만 파일명으로 중복 제거 (fallback, 키는 ExamDeduplicator가 보관)
+        private final ExamDeduplicator unindexedFiles;
+        private final AtomicInteger unindexedCount = new AtomicInteger();
+
+        public SessionInfo(String examCode, String examName, int total, int replayCapacity,
+                ExamDeduplicator unindexedFiles) {
+            this.eventLog = new SseEventLog(replayCapacity);
             this.examCode = examCode;
-            this.examName = examName;
-            this.total = total;
+            this.unindexedFiles = unindexedFiles;
+            this.progress = new AtomicReference<>(ProgressSnapshot.initial(examCode, examName, total));
             this.lastUpdateTime = System.currentTimeMillis();
         }
+
+        public ProgressSnapshot snapshot() {
+            return progress.get();
+        }
+
+        public ProgressSnapshot updateProgress(UnaryOperator<ProgressSnapshot> fn) {
+            return progress.updateAndGet(fn);
+        }
+
+        /**
+         * 페이지를 처리됨으로 표시합니다.
+         * @return 중복(이미 처리된 페이지)이면 false
+         */
+        public boolean markProcessed(Integer uploadIndex, String filename) {
+            if (uploadIndex != null && uploadIndex >= 0 && uploadIndex < PageBitmap.CAPACITY)
+                return pages.mark(uploadIndex);
+            if (filename != null && !filename.isEmpty()) {
+                if (!unindexedFiles.firstSeen(examCode, "file:" + filename))
+                    return false;
+                unindexedCount.incrementAndGet();
+            }
+            return true;
+        }
+
+        public int processedCount() {
+            return pages.cardinality() + unindexedCount.get();
+        }
+
+        void resetForNewGrading() {
+            clearProcessedPages();
+            progress.updateAndGet(ProgressSnapshot::reset);
+        }
+
+        // 처리 페이지 비트맵 / 파일명 중복 제거 상태만 비움 (다른 레플리카의 새 채점 epoch를 받았을 때도 사용)
+        void clearProcessedPages() {
+            pages = new PageBitmap();
+            unindexedFiles.release(examCode);
+            unindexedCount.set(0);
+        }
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("sse.sessions", sessions, Map::size)
+                .description("Exams with an active progress session")
+                .register(meterRegistry);
     }
 
     private SessionInfo getOrCreateSession(String examCode, String examName, int total) {
@@ -46,146 +159,307 @@ public class SseService {
         return sessions.compute(normalizedCode, (key, existing) -> {
             if (existing != null) {
                 // 기존 세션 유지 (리셋하지 않음 - connect()에서만 리셋)
-                if (total > 0)
-                    existing.total = total;
-                if (examName != null && !"Unknown".equals(examName))
-                    existing.examName = examName;
+                if (total > 0 && existing.snapshot().total() != total)
+                    existing.updateProgress(p -> p.withTotal(total));
+                if (examName != null && !"Unknown".equals(examName) && !examName.equals(existing.snapshot().examName()))
+                    existing.updateProgress(p -> p.withExamName(examName));
                 existing.lastUpdateTime = System.currentTimeMillis();
                 return existing;
             }
-            return new SessionInfo(normalizedCode, examName, total);
+            return new SessionInfo(normalizedCode, examName, total, replayCapacity, examDeduplicator);
         });
     }
 
     public SseEmitter connect(String examCode, String examName, int total) {
-        SessionInfo session = getOrCreateSession(examCode, examName, total);
+        return connect(examCode, examName, total, null);
+    }
 
-        // ✅ SSE 연결 시 새로운 채점이면 세션 초기화 (total > 0이고 이전 상태가 completed)
-        if (total > 0 && ("completed".equals(session.status) || session.index > 0)) {
-            session.index = 0;
-            session.status = "processing";
-            session.processedFiles.clear();
-            log.info("🔄 [SseService] Session reset for new grading: {}", session.examCode);
-        }
+    /**
+     * @param lastEventId 브라우저 EventSource가 재연결 시 보내는 Last-Event-ID (최초 연결이면 null)
+     */
+    public SseEmitter connect(String examCode, String examName, int total, String lastEventId) {
+        SessionInfo session = getOrCreateSession(examCode, examName, total);
+        Long resumeFrom = parseEventId(lastEventId);
+        resetIfNewGrading(session, total, resumeFrom);
+        share(session.snapshot());
 
         // Timeout 1 hour
         SseEmitter emitter = new SseEmitter(3600_000L);
-        session.emitter = emitter;
+        SseSubscriber subscriber = new SseSubscriber(session.examCode, emitter, subscriberQueueCapacity, dispatcher,
+                sinkBacklog, sub -> session.subscribers.remove(sub));
         session.lastUpdateTime = System.currentTimeMillis();
 
-        emitter.onCompletion(() -> cleanupEmitter(session, emitter));
-        emitter.onTimeout(() -> cleanupEmitter(session, emitter));
-        emitter.onError((e) -> cleanupEmitter(session, emitter));
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError((e) -> subscriber.close());
 
         try {
-            // ✅ 버퍼링 방지: 연결 시 충분한 양의 패딩 전송 (4KB 이상 권장)
-            String padding = " ".repeat(4096);
-            emitter.send(SseEmitter.event().comment("init").comment(padding));
-
-            Map<String, Object> initData = Map.of(
-                    "type", "connected",
-                    "index", session.index,
-                    "total", session.total,
-                    "status", session.status);
-            sendDirect(emitter, initData);
-            log.info("📡 [SseService] SSE Connected & Flushed for {}", session.examCode);
-        } catch (IOException e) {
+            // 구독자 등록 + 스냅샷 + 리플레이를 로그 락 안에서 처리해야 sendEvent와 섞여도 누락/중복이 없음
+            synchronized (session.eventLog) {
+                List<SseFrame> missed = (resumeFrom != null) ? session.eventLog.since(resumeFrom) : List.of();
+                // 구독자 큐(패딩 + 스냅샷 포함)에 다 들어가지 않는 리플레이는 overflow로 연결이 끊기고
+                // 같은 Last-Event-ID로 재연결을 반복하게 되므로 스냅샷(resync)으로 대신함
+                boolean resync = (missed == null || missed.size() + 2 > subscriberQueueCapacity);
+
+                // ✅ 버퍼링 방지: 연결 시 충분한 양의 패딩 전송 (4KB 이상 권장)
+                subscriber.offer(SseFrame.comment(INIT_PADDING));
+                subscriber.offer(snapshotFrame(session, resync));
+                if (!resync)
+                    missed.forEach(subscriber::offer);
+                session.subscribers.add(subscriber);
+                heartbeatWheel.register(subscriber);
+
+                log.info("📡 [SseService] SSE Connected for {} (subscribers: {}, replayed: {}{})", session.examCode,
+                        session.subscribers.size(), resync ? 0 : missed.size(), resync ? ", resync" : "");
+            }
+        } catch (Exception e) {
             log.warn("❌ [SseService] Failed to send initial SSE to {}", session.examCode);
         }
 
         return emitter;
     }
 
-    private void cleanupEmitter(SessionInfo session, SseEmitter emitter) {
-        if (session.emitter == emitter) {
-            log.info("🔌 [SseService] Emitter disconnected for {}", session.examCode);
-            session.emitter = null;
+    /**
+     * ✅ WebFlux 스트림 (servlet SseEmitter 대안)
+     * 시험별 Sinks.Many에 붙는 Flux를 반환합니다. Kafka 스레드는 sink에 emit만 하고,
+     * 실제 쓰기는 boundedElastic 스케줄러에서 수행됩니다.
+     * 진행률/이벤트는 하나의 bounded 버퍼로 순서대로 전달합니다 (진행률 병합은 ProgressCoalescer가 상류에서 수행).
+     * 느린 구독자가 버퍼를 넘기면 프레임을 버리지 않고 스트림을 끝내, 클라이언트가 Last-Event-ID로 재연결해
+     * 리플레이 또는 스냅샷(resync)을 받게 합니다.
+     */
+    public Flux<ServerSentEvent<String>> stream(String examCode, String examName, int total, String lastEventId) {
+        SessionInfo session = getOrCreateSession(examCode, examName, total);
+        Long resumeFrom = parseEventId(lastEventId);
+        resetIfNewGrading(session, total, resumeFrom);
+        share(session.snapshot());
+        session.lastUpdateTime = System.currentTimeMillis();
+
+        Flux<SseFrame> frames = Flux.create(out -> {
+            // 스냅샷/리플레이와 live 구독을 같은 락 안에서 걸어 sendEvent와의 틈을 없앰
+            synchronized (session.eventLog) {
+                List<SseFrame> missed = (resumeFrom != null) ? session.eventLog.since(resumeFrom) : List.of();
+                // 이벤트 버퍼보다 긴 리플레이는 앞부분이 밀려나므로 스냅샷(resync)으로 대신함
+                boolean resync = (missed == null || missed.size() + 2 > reactiveEventBuffer);
+                try {
+                    out.next(SseFrame.comment(INIT_PADDING));
+                    out.next(snapshotFrame(session, resync));
+                } catch (JsonProcessingException e) {
+                    out.error(e);
+                    return;
+                }
+                if (!resync)
+                    missed.forEach(out::next);
+                Disposable live = session.sink.asFlux().subscribe(out::next, out::error, out::complete);
+                out.onDispose(live);
+            }
+        }, FluxSink.OverflowStrategy.BUFFER);
+
+        Flux<ServerSentEvent<String>> heartbeat = Flux.interval(Duration.ofSeconds(reactiveHeartbeatSeconds))
+                .map(i -> SseFrame.comment(HEARTBEAT_PADDING).toServerSentEvent())
+                .takeUntilOther(session.sink.asFlux().ignoreElements());
+
+        return frames
+                .onBackpressureBuffer(reactiveEventBuffer,
+                        dropped -> log.warn("🐢 [SseService] Reactive subscriber of {} lagging at #{}, closing for resync",
+                                session.examCode, dropped.id()),
+                        BufferOverflowStrategy.ERROR)
+                .publishOn(Schedulers.boundedElastic(), 32)
+                .map(SseFrame::toServerSentEvent)
+                .mergeWith(heartbeat)
+                // 버퍼 초과 시 정상 종료 → EventSource 자동 재연결 (Last-Event-ID로 리플레이/resync)
+                .onErrorResume(Exceptions::isOverflow, e -> Flux.empty());
+    }
+
+    // ✅ SSE 연결 시 새로운 채점이면 세션 초기화 (total > 0이고 이전 상태가 completed)
+    // 재연결(Last-Event-ID 존재)은 같은 URL로 다시 붙는 것이므로 리셋하지 않음
+    private void resetIfNewGrading(SessionInfo session, int total, Long resumeFrom) {
+        ProgressSnapshot current = session.snapshot();
+        if (resumeFrom == null && total > 0 && ("completed".equals(current.status()) || current.index() > 0)) {
+            session.resetForNewGrading();
+            session.eventLog.clear();
+            log.info("🔄 [SseService] Session reset for new grading: {}", session.examCode);
         }
     }
 
-    public void updateProgress(String examCode, int index, int total) {
-        SessionInfo s = getOrCreateSession(examCode, null, total);
-        s.index = index;
-        if (total > 0)
-            s.total = total;
-        // 보정: index가 total을 넘지 않게 강제 (5/4 방지)
-        if (s.total > 0 && s.index > s.total)
-            s.index = s.total;
+    private SseFrame snapshotFrame(SessionInfo session, boolean resync) throws JsonProcessingException {
+        ProgressSnapshot p = session.snapshot();
+        Map<String, Object> initData = Map.of(
+                "type", "connected",
+                "index", p.index(),
+                "total", p.total(),
+                "status", p.status(),
+                "version", p.version(),
+                "resync", resync);
+        return toFrame("connected", initData);
+    }
+
+    /**
+     * 인식 결과 한 페이지를 반영합니다. (비트맵 표시 + 스냅샷 CAS 갱신)
+     * @return 갱신된 스냅샷, 이미 처리된 페이지(중복)면 null
+     */
+    public ProgressSnapshot recordProcessed(SessionInfo s, Integer uploadIndex, String filename, int total,
+            String status) {
+        if (!s.markProcessed(uploadIndex, filename))
+            return null;
+        int processed = s.processedCount();
+        ProgressSnapshot p = s.updateProgress(current -> current.withProgress(processed, total, status));
+        s.lastUpdateTime = System.currentTimeMillis();
+        share(p);
+        return p;
+    }
 
-        if (s.total > 0 && s.index >= s.total)
-            s.status = "completed";
+    /**
+     * 다른 레플리카가 보낸 스냅샷 반영 ((epoch, version)이 더 큰 것만 채택)
+     * 세션이 없으면 스냅샷을 건드리지 않고 만든 뒤 비교하므로 첫 원격 스냅샷이 로컬 version 증가에 밀리지 않습니다.
+     * 더 큰 epoch(다른 노드에서 시작된 새 채점)를 받으면 이 노드의 처리 페이지/리플레이 기록도 비웁니다.
+     * @return 실제로 반영되었으면 true
+     */
+    public boolean applyRemoteSnapshot(ProgressSnapshot remote) {
+        String code = remote.examCode() != null ? remote.examCode().trim().toUpperCase() : "UNKNOWN";
+        SessionInfo s = sessions.computeIfAbsent(code,
+                key -> new SessionInfo(key, remote.examName(), remote.total(), replayCapacity, examDeduplicator));
+        AtomicReference<ProgressSnapshot> previous = new AtomicReference<>();
+        ProgressSnapshot applied = s.updateProgress(current -> {
+            previous.set(current);
+            return remote.compareOrder(current) > 0 ? remote : current;
+        });
+        if (applied != remote)
+            return false;
+        if (remote.epoch() > previous.get().epoch()) {
+            s.clearProcessedPages();
+            s.eventLog.clear();
+            log.info("🔄 [SseService] Remote new grading (epoch {}) for {}, cleared local page state", remote.epoch(),
+                    s.examCode);
+        }
         s.lastUpdateTime = System.currentTimeMillis();
+        dashboardStream.onProgress(remote);
+        return true;
+    }
 
-        log.info("📈 [SseService] Internal Update {}: {}/{} ({})", s.examCode, s.index, s.total, s.status);
+    // 진행 상태 변경을 다른 레플리카와 대시보드에 알림
+    private void share(ProgressSnapshot snapshot) {
+        progressStateStore.publish(snapshot);
+        dashboardStream.onProgress(snapshot);
+    }
+
+    /**
+     * 관리자 대시보드 구독 (모든 시험의 진행 상태를 연결 하나로 수신)
+     */
+    public SseEmitter connectDashboard() {
+        return dashboardStream.connect(this::getActiveProcesses);
     }
 
     public void sendEvent(String examCode, String eventName, Object data) {
         String code = (examCode != null) ? examCode.trim().toUpperCase() : "";
         SessionInfo s = sessions.get(code);
-        if (s != null && s.emitter != null) {
+        if (s != null) {
             try {
                 Map<String, Object> payload = Map.of("type", eventName, "data", data);
-                sendDirect(s.emitter, payload);
-                s.lastUpdateTime = System.currentTimeMillis();
-                log.info("📤 [SseService] Sent Event: {} to {}", eventName, code);
+                // JSON 직렬화는 한 번만, 구독자별 큐에는 같은 불변 프레임을 넣음
+                SseFrame frame = toFrame(eventName, payload);
+                broadcast(s, frame);
+                // 진행률은 스냅샷으로 공유되므로 개별 이벤트만 다른 레플리카로 중계
+                if (!frame.isProgress())
+                    progressStateStore.publishEvent(code, eventName, frame.data());
+                log.info("📤 [SseService] Queued Event: {} to {} ({} subscribers)", eventName, code,
+                        s.subscribers.size());
             } catch (Exception e) {
-                log.warn("⚠️ [SseService] Send failed, clearing emitter: {}", code);
-                s.emitter = null;
+                log.warn("⚠️ [SseService] Failed to serialize event {} for {}: {}", eventName, code, e.getMessage());
             }
         }
     }
 
+    /**
+     * 다른 레플리카에서 중계된 이벤트를 이 노드의 구독자에게만 전달 (재중계하지 않음)
+     */
+    public void deliverRemoteEvent(String examCode, String eventName, String json) {
+        SessionInfo s = getOrCreateSession(examCode, null, 0);
+        broadcast(s, SseFrame.data(eventName, json, EVENT_PADDING));
+    }
+
+    private void broadcast(SessionInfo s, SseFrame frame) {
+        // 구독자가 없어도 로그에는 남겨서, 재연결한 클라이언트가 리플레이 받을 수 있게 함
+        synchronized (s.eventLog) {
+            SseFrame stamped = s.eventLog.append(frame);
+            s.subscribers.forEach(sub -> sub.offer(stamped));
+            s.sink.tryEmitNext(stamped);
+        }
+        s.lastUpdateTime = System.currentTimeMillis();
+    }
+
     // ✅ 데이터를 보낼 때 패딩을 섞어서 강제로 버퍼를 비움
-    private void sendDirect(SseEmitter emitter, Object data) throws IOException {
+    private SseFrame toFrame(String type, Object data) throws JsonProcessingException {
         String json = objectMapper.writeValueAsString(data);
         // 데이터 뒤에 공백 패딩을 붙여서 전송 (Next.js/Nginx 등의 버퍼를 강제로 밀어냄)
-        emitter.send(SseEmitter.event().data(json).comment(" ".repeat(1024)));
+        return SseFrame.data(type, json, EVENT_PADDING);
+    }
+
+    private Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank())
+            return null;
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 
     public SessionInfo getSession(String examCode) {
         return (examCode != null) ? sessions.get(examCode.trim().toUpperCase()) : null;
     }
 
-    public List<Map<String, Object>> getActiveProcesses() {
-        List<Map<String, Object>> result = new ArrayList<>();
-        sessions.forEach((k, s) -> {
-            Map<String, Object> m = new java.util.HashMap<>();
-            m.put("examCode", s.examCode);
-            m.put("examName", s.examName);
-            m.put("index", s.index);
-            m.put("total", s.total);
-            m.put("status", s.status);
-            result.add(m);
-        });
+    // 스냅샷은 불변이므로 복사 없이 참조만 모아서 반환
+    public List<ProgressSnapshot> getActiveProcesses() {
+        List<ProgressSnapshot> result = new ArrayList<>(sessions.size());
+        sessions.values().forEach(s -> result.add(s.snapshot()));
         return result;
     }
 
     public void removeSession(String examCode) {
+        String code = (examCode != null) ? examCode.trim().toUpperCase() : "";
+        removeLocalSession(code);
+        progressStateStore.remove(code);
+    }
+
+    // 이 노드의 세션만 정리 (다른 레플리카에서 제거가 전파된 경우)
+    public void removeLocalSession(String examCode) {
         String code = (examCode != null) ? examCode.trim().toUpperCase() : "";
         SessionInfo s = sessions.remove(code);
-        if (s != null && s.emitter != null) {
-            try {
-                s.emitter.complete();
-            } catch (Exception ignored) {
+        if (s != null) {
+            dashboardStream.onRemoved(code);
+            examDeduplicator.release(code);
+            s.subscribers.forEach(SseSubscriber::close);
+            synchronized (s.eventLog) {
+                s.sink.tryEmitComplete();
             }
         }
     }
 
-    @org.springframework.scheduling.annotation.Scheduled(fixedRate = 5000)
-    public void heartbeat() {
+    // 10분 무활동 세션 정리 (heartbeat write는 HeartbeatWheel이 담당하므로 여기서는 스캔만 함)
+    @org.springframework.scheduling.annotation.Scheduled(fixedRate = 60000)
+    public void evictStaleSessions() {
         long now = System.currentTimeMillis();
-        // 10분 무활동 시 세션 제거
-        sessions.entrySet().removeIf(entry -> (now - entry.getValue().lastUpdateTime) > 600000);
-
-        sessions.forEach((code, s) -> {
-            if (s.emitter != null) {
-                try {
-                    // 심박수 측정 시에도 패딩을 보내 연결 유지 강제
-                    s.emitter.send(SseEmitter.event().comment("heartbeat").comment(" ".repeat(512)));
-                } catch (IOException e) {
-                    s.emitter = null;
+        sessions.entrySet().removeIf(entry -> {
+            SessionInfo s = entry.getValue();
+            boolean stale = (now - s.lastUpdateTime) > 600000;
+            if (stale) {
+                dashboardStream.onRemoved(entry.getKey());
+                examDeduplicator.release(entry.getKey());
+                s.subscribers.forEach(SseSubscriber::close);
+                synchronized (s.eventLog) {
+                    s.sink.tryEmitComplete();
                 }
             }
+            return stale;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sessions.values().forEach(s -> {
+            s.subscribers.forEach(SseSubscriber::close);
+            s.sink.tryEmitComplete();
         });
+        dispatcher.shutdown();
     }
 }
@@ -38,19 +38,28 @@ public class StudentAnswerService {
 
     @org.springframework.transaction.annotation.Transactional
     public void saveRecognitionResults(String examCode, String studentIdStr, List<Map<String, Object>> answers) {
+        studentAnswerRepository.saveAll(toEntities(examCode, parseStudentId(studentIdStr), answers));
+    }
+
+    public static Long parseStudentId(String studentIdStr) {
         // Parse String studentId to Long
-        Long studentId;
         try {
-            studentId = Long.parseLong(studentIdStr);
-        } catch (NumberFormatException e) {
+            return Long.parseLong(studentIdStr);
+        } catch (NumberFormatException | NullPointerException e) {
             // Handle error or set null if acceptable? For now assuming valid ID.
             throw new IllegalArgumentException("Invalid student ID format: " + studentIdStr);
         }
+    }
 
+    /**
+     * ✅ AI 인식 결과(answers 배열)를 StudentAnswer 엔티티로 변환합니다.
+     * JPA 저장(saveRecognitionResults)과 Kafka write-behind(JDBC batch)가 같은 매핑을 사용합니다.
+     */
+    public static List<StudentAnswer> toEntities(String examCode, Long studentId, List<Map<String, Object>> answers) {
         com.dankook.mlpa_gradi.entity.Student studentReference = new com.dankook.mlpa_gradi.entity.Student();
         studentReference.setStudentId(studentId);
 
-        List<StudentAnswer> entities = answers.stream().map(ans -> {
+        return answers.stream().map(ans -> {
             StudentAnswer entity = new StudentAnswer();
             entity.setExamCode(examCode);
             entity.setStudent(studentReference);
@@ -114,8 +123,6 @@ public class StudentAnswerService {
 
             return entity;
         }).toList();
-
-        studentAnswerRepository.saveAll(entities);
     }
 
     @org.springframework.transaction.annotation.Transactional
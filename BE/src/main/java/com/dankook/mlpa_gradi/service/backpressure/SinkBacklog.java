@@ -0,0 +1,62 @@
+package com.dankook.mlpa_gradi.service.backpressure;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ✅ Kafka 리스너 이후 단계(SSE 구독자 큐, DB write-behind 등)에 쌓여 있는 미처리 작업 수
+ * 각 sink가 작업을 넣을 때 add(), 처리(또는 폐기)할 때 remove()를 호출합니다.
+ * ListenerBackpressure가 이 값을 보고 리스너 컨테이너를 pause/resume 합니다.
+ *
+ * SSE 구독자 큐는 addSse()/removeSse()로 따로 셉니다. 구독자 큐는 넘치면 해당 구독자만 끊기므로
+ * 느린 브라우저 탭 하나가 전체 채점 소비를 멈추지 않도록 기본 가중치 0으로 depth()에서 제외합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SinkBacklog {
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong ssePending = new AtomicLong();
+
+    // depth()에 반영할 SSE 큐 프레임 가중치 (0 = 제외)
+    @Value("${kafka.backpressure.sse-weight:0}")
+    private double sseWeight;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("kafka.backpressure.pending", pending, AtomicLong::get)
+                .description("Sink work items queued behind the Kafka listeners")
+                .register(meterRegistry);
+        Gauge.builder("kafka.backpressure.sse-pending", ssePending, AtomicLong::get)
+                .description("Frames queued in SSE subscriber queues")
+                .register(meterRegistry);
+    }
+
+    public void add(int items) {
+        pending.addAndGet(items);
+    }
+
+    public void remove(int items) {
+        pending.addAndGet(-items);
+    }
+
+    public void addSse(int frames) {
+        ssePending.addAndGet(frames);
+    }
+
+    public void removeSse(int frames) {
+        ssePending.addAndGet(-frames);
+    }
+
+    public long depth() {
+        return pending.get() + (long) (ssePending.get() * sseWeight);
+    }
+}
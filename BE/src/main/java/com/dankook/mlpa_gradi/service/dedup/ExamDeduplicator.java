@@ -0,0 +1,136 @@
+package com.dankook.mlpa_gradi.service.dedup;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ✅ 시험 단위 중복 처리 방지 (S3 Key / 업로드 인덱스가 없는 파일명)
+ * 기존에는 전역 Set에 모든 시험의 키를 재시작 전까지 쌓았습니다.
+ * 여기서는 시험마다 Caffeine 캐시를 두어
+ * - 마지막 기록 후 expire-after 가 지나거나 시험당 max-keys를 넘으면 자동 제거하고
+ * - 채점 완료 / 시험 삭제 / 세션 제거 시 release()로 해당 시험의 키를 한 번에 해제합니다.
+ *   (채점 완료는 epoch당 한 번만 해제하므로 완료 후 들어오는 레코드마다 캐시를 다시 만들지 않음)
+ * Lambda 재호출로 인한 중복은 보통 수 분 안에 오므로 시간 윈도우로 충분합니다.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ExamDeduplicator {
+
+    // 엔트리 하나의 대략적인 힙 사용량: Caffeine 노드 + 해시 테이블 슬롯 + String 헤더 (키 문자 수는 별도 가산)
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${dedup.expire-after-minutes:60}")
+    private long expireAfterMinutes;
+
+    @Value("${dedup.max-keys-per-exam:100000}")
+    private long maxKeysPerExam;
+
+    private final Map<String, Cache<String, Boolean>> byExam = new ConcurrentHashMap<>();
+    // 채점 완료로 키를 해제한 epoch (시험별), 세션 제거/시험 삭제 시 함께 정리
+    private final Map<String, Long> releasedEpoch = new ConcurrentHashMap<>();
+    private final LongAdder keyChars = new LongAdder();
+    private final LongAdder entries = new LongAdder();
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("dedup.exams", byExam, Map::size)
+                .description("Exams with an active dedup window")
+                .register(meterRegistry);
+        Gauge.builder("dedup.entries", entries, LongAdder::sum)
+                .description("Dedup keys currently held across all exams")
+                .register(meterRegistry);
+        Gauge.builder("dedup.estimated-bytes", this, d -> d.estimatedBytes())
+                .description("Approximate heap used by dedup keys")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 키를 기록합니다.
+     * @return 처음 본 키면 true, 윈도우 안에서 이미 처리된 키면 false
+     */
+    public boolean firstSeen(String examCode, String key) {
+        while (true) {
+            Cache<String, Boolean> cache = byExam.computeIfAbsent(examCode, code -> newCache());
+            boolean added = cache.asMap().putIfAbsent(key, Boolean.TRUE) == null;
+            if (added) {
+                entries.increment();
+                keyChars.add(key.length());
+            }
+            if (byExam.get(examCode) == cache)
+                return added;
+            // 그 사이 release()로 떨어져 나간 캐시에 기록됨 → 되돌리고(removal listener가 차감) 새 캐시에서 다시 시도
+            if (added)
+                cache.asMap().remove(key);
+        }
+    }
+
+    /**
+     * 해당 시험의 키를 모두 해제합니다. (새 채점 시작, 시험 삭제, 세션 제거 시)
+     */
+    public void release(String examCode) {
+        releasedEpoch.remove(examCode);
+        invalidate(examCode);
+    }
+
+    /**
+     * 채점 완료 시 해당 epoch에 대해 한 번만 키를 해제합니다.
+     * 완료 이후의 레코드가 다시 호출해도 무시되므로 캐시를 만들고 버리는 일을 반복하지 않습니다.
+     */
+    public void releaseCompleted(String examCode, long epoch) {
+        Long previous = releasedEpoch.put(examCode, epoch);
+        if (previous == null || previous != epoch)
+            invalidate(examCode);
+    }
+
+    private void invalidate(String examCode) {
+        Cache<String, Boolean> cache = byExam.remove(examCode);
+        if (cache != null) {
+            cache.invalidateAll();
+            cache.cleanUp();
+            log.debug("🧹 [ExamDeduplicator] Released dedup keys for {}", examCode);
+        }
+    }
+
+    // 새 키가 들어오지 않는 시험도 만료된 키가 정리되도록 주기적으로 maintenance 실행
+    @Scheduled(fixedRate = 60000)
+    public void cleanUp() {
+        byExam.values().forEach(Cache::cleanUp);
+    }
+
+    public long estimatedBytes() {
+        return entries.sum() * ENTRY_OVERHEAD_BYTES + keyChars.sum();
+    }
+
+    private Cache<String, Boolean> newCache() {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(expireAfterMinutes))
+                .maximumSize(maxKeysPerExam)
+                // 만료/용량 초과/해제 모두 카운터에서 차감 (교체는 발생하지 않음)
+                .removalListener((String key, Boolean value, RemovalCause cause) -> {
+                    if (key != null && cause != RemovalCause.REPLACED) {
+                        entries.decrement();
+                        keyChars.add(-key.length());
+                    }
+                })
+                .executor(Runnable::run)
+                .build();
+    }
+}
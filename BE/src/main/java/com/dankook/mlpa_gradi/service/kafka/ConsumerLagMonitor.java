@@ -0,0 +1,107 @@
+package com.dankook.mlpa_gradi.service.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ Consumer group lag 모니터
+ * AdminClient로 group의 커밋 offset과 각 파티션의 최신 offset을 주기적으로 조회해
+ * kafka.consumer.lag{group,topic,partition} gauge로 노출합니다.
+ * 모든 레플리카가 같은 값을 보므로, lag이 늘면 AI 쪽이 아니라 우리 소비가 밀리고 있다는 뜻입니다.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ConsumerLagMonitor {
+
+    private final KafkaAdmin kafkaAdmin;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${kafka.lag.groups:mlpa-group,mlpa-retry-group}")
+    private List<String> groups;
+
+    @Value("${kafka.lag.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private AdminClient adminClient;
+    private MultiGauge lagGauge;
+    private MultiGauge totalLagGauge;
+
+    @PostConstruct
+    public void start() {
+        adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+        lagGauge = MultiGauge.builder("kafka.consumer.lag")
+                .description("Records behind the log end offset per partition")
+                .register(meterRegistry);
+        totalLagGauge = MultiGauge.builder("kafka.consumer.lag.total")
+                .description("Records behind the log end offset per consumer group")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${kafka.lag.check-interval-ms:15000}")
+    public void refresh() {
+        List<MultiGauge.Row<?>> rows = new ArrayList<>();
+        List<MultiGauge.Row<?>> totals = new ArrayList<>();
+        for (String group : groups) {
+            try {
+                Map<TopicPartition, Long> lag = lagOf(group);
+                long total = 0;
+                for (Map.Entry<TopicPartition, Long> e : lag.entrySet()) {
+                    TopicPartition tp = e.getKey();
+                    rows.add(MultiGauge.Row.of(Tags.of("group", group, "topic", tp.topic(),
+                            "partition", String.valueOf(tp.partition())), e.getValue()));
+                    total += e.getValue();
+                }
+                totals.add(MultiGauge.Row.of(Tags.of("group", group), total));
+            } catch (Exception e) {
+                log.warn("⚠️ [ConsumerLag] Failed to read lag of {}: {}", group, e.getMessage());
+            }
+        }
+        // overwrite=true: 리밸런스 등으로 사라진 파티션의 gauge는 제거
+        lagGauge.register(rows, true);
+        totalLagGauge.register(totals, true);
+    }
+
+    private Map<TopicPartition, Long> lagOf(String group) throws Exception {
+        Map<TopicPartition, OffsetAndMetadata> committed = adminClient.listConsumerGroupOffsets(group)
+                .partitionsToOffsetAndMetadata().get(timeoutMs, TimeUnit.MILLISECONDS);
+        Map<TopicPartition, OffsetSpec> latest = new HashMap<>();
+        committed.keySet().forEach(tp -> latest.put(tp, OffsetSpec.latest()));
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> ends = adminClient.listOffsets(latest).all()
+                .get(timeoutMs, TimeUnit.MILLISECONDS);
+
+        Map<TopicPartition, Long> lag = new HashMap<>();
+        committed.forEach((tp, offset) -> {
+            ListOffsetsResult.ListOffsetsResultInfo end = ends.get(tp);
+            if (offset != null && end != null)
+                lag.put(tp, Math.max(0, end.offset() - offset.offset()));
+        });
+        return lag;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (adminClient != null)
+            adminClient.close();
+    }
+}
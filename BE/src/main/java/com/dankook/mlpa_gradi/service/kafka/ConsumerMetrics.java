@@ -0,0 +1,73 @@
+package com.dankook.mlpa_gradi.service.kafka;
+
+import com.dankook.mlpa_gradi.dto.event.AnswerFallbackEvent;
+import com.dankook.mlpa_gradi.dto.event.AnswerResultEvent;
+import com.dankook.mlpa_gradi.dto.event.AttendanceUploadEvent;
+import com.dankook.mlpa_gradi.dto.event.ErrorEvent;
+import com.dankook.mlpa_gradi.dto.event.RecognitionEvent;
+import com.dankook.mlpa_gradi.dto.event.ResultEvent;
+import com.dankook.mlpa_gradi.dto.event.UnknownEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * ✅ 결과 리스너 처리량/처리 시간 메트릭
+ * - kafka.consumer.events{type}: 이벤트 타입별 수신 건수 (Prometheus rate()로 초당 처리량)
+ * - kafka.consumer.process{listener}: 메시지 처리 시간 히스토그램 (단건/재시도는 레코드, 배치는 시험 묶음 단위)
+ * - kafka.consumer.batch.size: poll 한 번에 받은 레코드 수
+ * - kafka.consumer.dedup.hits{kind}: 중복으로 걸러진 인식 이벤트 (s3 key / 업로드 인덱스)
+ * 태그 값은 고정된 집합만 사용합니다. (알 수 없는 eventType은 UNKNOWN으로 묶음)
+ */
+@Component
+@RequiredArgsConstructor
+public class ConsumerMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public void recordEvent(ResultEvent event) {
+        // 레지스트리가 이름+태그로 같은 Counter를 돌려주므로 매번 builder를 써도 됨
+        Counter.builder("kafka.consumer.events")
+                .description("Result events received per event type")
+                .tag("type", typeOf(event))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public Timer processTimer(String listener) {
+        return Timer.builder("kafka.consumer.process")
+                .description("Time spent processing result messages")
+                .tag("listener", listener)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public void recordBatchSize(int records) {
+        DistributionSummary.builder("kafka.consumer.batch.size")
+                .description("Records delivered per batch poll")
+                .register(meterRegistry)
+                .record(records);
+    }
+
+    public void dedupHit(String kind) {
+        Counter.builder("kafka.consumer.dedup.hits")
+                .description("Recognition events skipped as duplicates")
+                .tag("kind", kind)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String typeOf(ResultEvent event) {
+        return switch (event) {
+            case RecognitionEvent r -> r.eventType();
+            case AnswerResultEvent r -> "ANSWER_RECOGNITION_RESULT";
+            case AnswerFallbackEvent f -> "ANSWER_FALLBACK";
+            case ErrorEvent e -> "ERROR";
+            case AttendanceUploadEvent a -> "ATTENDANCE_UPLOAD";
+            case UnknownEvent u -> "UNKNOWN";
+        };
+    }
+}
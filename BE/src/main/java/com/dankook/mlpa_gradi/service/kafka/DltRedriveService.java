@@ -0,0 +1,132 @@
+package com.dankook.mlpa_gradi.service.kafka;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ DLT 메시지 일괄 재처리 (re-drive)
+ * 결과 토픽별 DLT({topic}-retry-dlt)를 전용 consumer group으로 읽어 원래 토픽으로 다시 발행합니다.
+ * 재발행 ack를 받은 레코드까지만 offset을 커밋하므로, 중간에 실패해도 다음 호출에서 이어서 처리됩니다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DltRedriveService {
+
+    private static final String REDRIVE_GROUP = "mlpa-dlt-redrive";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    private final ConsumerFactory<String, String> consumerFactory;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    @Value("${kafka.topics.id-result}")
+    private String idResultTopic;
+
+    @Value("${kafka.topics.answer-result}")
+    private String answerResultTopic;
+
+    @Value("${kafka.topics.answer-fallback}")
+    private String answerFallbackTopic;
+
+    public record RedriveResult(String dltTopic, String targetTopic, int redriven, int failed) {
+    }
+
+    public List<RedriveResult> redriveAll(int maxPerTopic) {
+        List<RedriveResult> results = new ArrayList<>();
+        for (String topic : List.of(idResultTopic, answerResultTopic, answerFallbackTopic)) {
+            results.add(redrive(topic, maxPerTopic));
+        }
+        return results;
+    }
+
+    /**
+     * @param targetTopic 원래 결과 토픽 (DLT 이름은 {targetTopic}-retry-dlt)
+     */
+    public RedriveResult redrive(String targetTopic, int maxRecords) {
+        if (!List.of(idResultTopic, answerResultTopic, answerFallbackTopic).contains(targetTopic))
+            throw new IllegalArgumentException("Not a result topic: " + targetTopic);
+        String dltTopic = targetTopic + RetryForwarder.RETRY_SUFFIX + RetryForwarder.DLT_SUFFIX;
+        int redriven = 0;
+        int failed = 0;
+
+        // 직접 만든 consumer는 컨테이너와 달리 auto commit이 꺼지지 않으므로 명시적으로 끔
+        // (켜져 있으면 poll/close 시 maxRecords 이후나 막힌 파티션 뒤의 레코드 위치까지 커밋되어 유실)
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        try (Consumer<String, String> consumer = consumerFactory.createConsumer(REDRIVE_GROUP, null, "-redrive",
+                overrides)) {
+            List<PartitionInfo> partitions = consumer.partitionsFor(dltTopic);
+            if (partitions == null || partitions.isEmpty())
+                return new RedriveResult(dltTopic, targetTopic, 0, 0);
+            List<TopicPartition> assigned = new ArrayList<>();
+            partitions.forEach(p -> assigned.add(new TopicPartition(p.topic(), p.partition())));
+            // 그룹 rebalance 없이 바로 읽도록 직접 할당 (커밋된 offset부터 이어서 읽음)
+            consumer.assign(assigned);
+
+            while (redriven < maxRecords) {
+                ConsumerRecords<String, String> polled = consumer.poll(POLL_TIMEOUT);
+                if (polled.isEmpty())
+                    break;
+
+                List<ConsumerRecord<String, String>> batch = new ArrayList<>();
+                List<CompletableFuture<?>> futures = new ArrayList<>();
+                for (ConsumerRecord<String, String> record : polled) {
+                    if (redriven + batch.size() >= maxRecords)
+                        break;
+                    batch.add(record);
+                    futures.add(kafkaTemplate.send(targetTopic, record.key(), record.value()));
+                }
+                kafkaTemplate.flush();
+
+                // 파티션별로 처음 실패한 레코드 직전까지만 커밋
+                Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+                Set<TopicPartition> blocked = new HashSet<>();
+                for (int i = 0; i < batch.size(); i++) {
+                    ConsumerRecord<String, String> record = batch.get(i);
+                    TopicPartition tp = new TopicPartition(record.topic(), record.partition());
+                    if (blocked.contains(tp))
+                        continue;
+                    try {
+                        futures.get(i).get(30, TimeUnit.SECONDS);
+                        commits.put(tp, new OffsetAndMetadata(record.offset() + 1));
+                        redriven++;
+                    } catch (Exception e) {
+                        blocked.add(tp);
+                        failed++;
+                        log.error("❌ Redrive of {}-{}@{} failed: {}", record.topic(), record.partition(),
+                                record.offset(), e.getMessage());
+                    }
+                }
+                if (!commits.isEmpty())
+                    consumer.commitSync(commits);
+                if (!blocked.isEmpty())
+                    break;
+            }
+        }
+
+        log.info("♻️ Redrove {} records from {} to {} ({} failed)", redriven, dltTopic, targetTopic, failed);
+        return new RedriveResult(dltTopic, targetTopic, redriven, failed);
+    }
+}
@@ -0,0 +1,115 @@
+package com.dankook.mlpa_gradi.service.kafka;
+
+import com.dankook.mlpa_gradi.service.backpressure.SinkBacklog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ 리스너 backpressure: 하류 sink(SSE 쓰기, DB 저장)가 밀리면 Kafka 소비를 잠시 멈춤
+ * 미처리 작업 수가 high-watermark를 넘으면 결과 리스너 컨테이너(listener-ids)만 pause 하고,
+ * low-watermark 아래로 내려가면 resume 합니다. (두 값 사이에서는 상태 유지 → 깜빡임 방지)
+ * pause 중에도 consumer는 poll을 계속하므로 group에서 빠지지 않고, 레코드만 받지 않습니다.
+ * DLT 등 다른 컨테이너는 sink와 무관하므로 건드리지 않습니다.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ListenerBackpressure {
+
+    private final SinkBacklog sinkBacklog;
+    private final KafkaListenerEndpointRegistry registry;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${kafka.backpressure.high-watermark:5000}")
+    private long highWatermark;
+
+    @Value("${kafka.backpressure.low-watermark:1000}")
+    private long lowWatermark;
+
+    @Value("${kafka.backpressure.check-interval-ms:100}")
+    private long checkIntervalMs;
+
+    // pause 대상 리스너 id (KafkaListenerService의 결과/배치/재시도 리스너)
+    // @RetryableTopic이 만드는 백오프 컨테이너는 "{id}-{suffix}" id를 가지므로 접두사로 함께 찾음 (DLT 제외)
+    @Value("${kafka.backpressure.listener-ids:resultListener,resultBatchListener,resultRetryListener}")
+    private List<String> listenerIds;
+
+    private volatile boolean paused = false;
+    private Counter pauseCounter;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "kafka-backpressure");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @PostConstruct
+    public void start() {
+        Gauge.builder("kafka.backpressure.paused", this, b -> b.paused ? 1 : 0)
+                .description("1 while result listeners are paused for sink backpressure")
+                .register(meterRegistry);
+        pauseCounter = Counter.builder("kafka.backpressure.pauses")
+                .description("Times the result listeners were paused")
+                .register(meterRegistry);
+        scheduler.scheduleAtFixedRate(this::safeCheck, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void safeCheck() {
+        try {
+            check();
+        } catch (Exception e) {
+            log.warn("⚠️ [ListenerBackpressure] Check failed: {}", e.getMessage());
+        }
+    }
+
+    private void check() {
+        long depth = sinkBacklog.depth();
+        if (!paused && depth >= highWatermark) {
+            containers().forEach(MessageListenerContainer::pause);
+            paused = true;
+            pauseCounter.increment();
+            log.warn("⏸️ [ListenerBackpressure] Paused listeners: {} pending sink items (high={})", depth,
+                    highWatermark);
+        } else if (paused && depth <= lowWatermark) {
+            containers().forEach(MessageListenerContainer::resume);
+            paused = false;
+            log.info("▶️ [ListenerBackpressure] Resumed listeners: {} pending sink items (low={})", depth,
+                    lowWatermark);
+        }
+    }
+
+    private List<MessageListenerContainer> containers() {
+        return registry.getListenerContainers().stream()
+                .filter(c -> isResultListener(c.getListenerId()))
+                .toList();
+    }
+
+    private boolean isResultListener(String id) {
+        if (id == null || id.endsWith(RetryForwarder.DLT_SUFFIX))
+            return false;
+        return listenerIds.stream().anyMatch(base -> id.equals(base) || id.startsWith(base + "-"));
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+}
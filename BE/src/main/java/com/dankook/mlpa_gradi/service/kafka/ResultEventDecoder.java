@@ -0,0 +1,180 @@
+package com.dankook.mlpa_gradi.service.kafka;
+
+import com.dankook.mlpa_gradi.dto.event.AnswerFallbackEvent;
+import com.dankook.mlpa_gradi.dto.event.AnswerResultEvent;
+import com.dankook.mlpa_gradi.dto.event.AttendanceUploadEvent;
+import com.dankook.mlpa_gradi.dto.event.ErrorEvent;
+import com.dankook.mlpa_gradi.dto.event.RecognitionEvent;
+import com.dankook.mlpa_gradi.dto.event.ResultEvent;
+import com.dankook.mlpa_gradi.dto.event.UnknownEvent;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ✅ 결과 토픽 메시지 스트리밍 디코더
+ * ObjectMapper.readValue(body, Map.class) 대신 JsonParser로 한 번만 훑으며
+ * 필요한 최상위 필드만 읽고, 나머지(답안 배열 등)는 skipChildren()으로 건너뜁니다.
+ * camelCase / snake_case 키(examCode / exam_code 등)를 모두 허용합니다.
+ *
+ * 답안 결과/폴백은 저장소가 Map을 필요로 하므로, 첫 필드가 이벤트 종류이면 같은 파서로 나머지 필드를
+ * 바로 Map에 읽어 들여 메시지를 한 번만 파싱합니다. (이벤트 종류가 뒤에 오면 그때만 Map으로 다시 읽음)
+ */
+@Component
+public class ResultEventDecoder {
+
+    private static final String DEFAULT_EVENT_TYPE = "STUDENT_ID_RECOGNITION";
+
+    private final ObjectMapper objectMapper;
+    private final JsonFactory jsonFactory;
+
+    public ResultEventDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    // 한 메시지에서 읽어낸 최상위 필드 (이벤트 종류가 마지막에 나와도 되도록 먼저 모두 읽음)
+    private static final class Fields {
+        String eventType;
+        String examCode;
+        String studentId;
+        String filename;
+        String s3Key;
+        Integer uploadIndex;
+        Integer total;
+        String status;
+        String message;
+        String questionNum;
+        String downloadUrl;
+    }
+
+    public ResultEvent decode(String json) throws IOException {
+        Fields f = new Fields();
+        try (JsonParser p = jsonFactory.createParser(json)) {
+            if (p.nextToken() != JsonToken.START_OBJECT)
+                throw new IOException("Result event must be a JSON object");
+
+            boolean first = true;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                p.nextToken();
+                if (first && isEventTypeField(name)) {
+                    String eventType = text(p);
+                    if (carriesPayload(eventType)) {
+                        Map<String, Object> payload = new LinkedHashMap<>();
+                        payload.put(name, eventType);
+                        readRemaining(p, payload);
+                        return payloadEvent(eventType, payload, json);
+                    }
+                    f.eventType = eventType;
+                    first = false;
+                    continue;
+                }
+                first = false;
+                switch (name) {
+                    case "event_type", "eventType" -> f.eventType = text(p);
+                    case "examCode", "exam_code" -> f.examCode = text(p);
+                    case "studentId", "student_id" -> f.studentId = text(p);
+                    case "filename", "fileName" -> f.filename = text(p);
+                    case "s3Key", "s3_key" -> f.s3Key = text(p);
+                    case "uploadIndex", "upload_index" -> f.uploadIndex = number(p);
+                    case "total" -> f.total = number(p);
+                    case "status" -> f.status = text(p);
+                    case "message" -> f.message = text(p);
+                    case "questionNum", "question_num" -> f.questionNum = text(p);
+                    case "downloadUrl", "download_url" -> f.downloadUrl = text(p);
+                    default -> p.skipChildren();
+                }
+            }
+        }
+        if (carriesPayload(f.eventType)) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> payload = objectMapper.readValue(json, Map.class);
+            return payloadEvent(f.eventType, payload, json);
+        }
+        return toEvent(f, json);
+    }
+
+    private static boolean isEventTypeField(String name) {
+        return "event_type".equals(name) || "eventType".equals(name);
+    }
+
+    private static boolean carriesPayload(String eventType) {
+        return "ANSWER_RECOGNITION_RESULT".equals(eventType) || "ANSWER_FALLBACK".equals(eventType);
+    }
+
+    // 이벤트 종류 다음의 필드를 모두 Map으로 (값은 readValue(Map)과 같은 타입)
+    private void readRemaining(JsonParser p, Map<String, Object> payload) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            p.nextToken();
+            payload.put(name, objectMapper.readValue(p, Object.class));
+        }
+    }
+
+    // 학번 없는 답안 결과는 저장할 수 없으므로 디코딩 실패로 처리 (재시도 없이 DLT로 감)
+    private static ResultEvent payloadEvent(String eventType, Map<String, Object> payload, String json)
+            throws JsonMappingException {
+        String examCode = scalar(payload, "examCode", "exam_code");
+        if ("ANSWER_FALLBACK".equals(eventType))
+            return new AnswerFallbackEvent(examCode, scalar(payload, "questionNum", "question_num"), json, payload);
+        String studentId = scalar(payload, "studentId", "student_id");
+        if (studentId == null)
+            throw JsonMappingException.from((JsonParser) null, "Answer result without studentId");
+        return new AnswerResultEvent(examCode, studentId, json, payload);
+    }
+
+    // camelCase 우선, 없으면 snake_case. 문자열/숫자/불리언만 텍스트로
+    private static String scalar(Map<String, Object> payload, String camel, String snake) {
+        Object value = payload.containsKey(camel) ? payload.get(camel) : payload.get(snake);
+        if (value instanceof String || value instanceof Number || value instanceof Boolean)
+            return value.toString();
+        return null;
+    }
+
+    private static ResultEvent toEvent(Fields f, String json) {
+        String eventType = f.eventType != null ? f.eventType : DEFAULT_EVENT_TYPE;
+        return switch (eventType) {
+            case "STUDENT_ID_RECOGNITION", "QUESTION_RECOGNITION" -> new RecognitionEvent(eventType, f.examCode,
+                    f.studentId, f.filename, f.s3Key, f.uploadIndex, f.total != null ? f.total : 0,
+                    f.status != null ? f.status : "processing");
+            case "ERROR" -> new ErrorEvent(f.examCode, f.message, json);
+            case "ATTENDANCE_UPLOAD" -> new AttendanceUploadEvent(f.examCode, f.downloadUrl);
+            default -> new UnknownEvent(eventType, f.examCode);
+        };
+    }
+
+    // 문자열/숫자/불리언은 텍스트로, 객체/배열은 건너뛰고 null
+    private static String text(JsonParser p) throws IOException {
+        JsonToken t = p.currentToken();
+        if (t.isScalarValue())
+            return t == JsonToken.VALUE_NULL ? null : p.getText();
+        p.skipChildren();
+        return null;
+    }
+
+    // 숫자 또는 숫자 문자열("12", "12.0")을 int로
+    private static Integer number(JsonParser p) throws IOException {
+        JsonToken t = p.currentToken();
+        if (t == JsonToken.VALUE_NUMBER_INT)
+            return p.getIntValue();
+        if (t == JsonToken.VALUE_NUMBER_FLOAT)
+            return (int) p.getDoubleValue();
+        if (t == JsonToken.VALUE_STRING) {
+            try {
+                return (int) Double.parseDouble(p.getText().trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        p.skipChildren();
+        return null;
+    }
+}
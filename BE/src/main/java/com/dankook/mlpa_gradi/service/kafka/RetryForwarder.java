@@ -0,0 +1,82 @@
+package com.dankook.mlpa_gradi.service.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * ✅ 메인 리스너에서 처리에 실패한 레코드를 재시도 토픽({topic}-retry)으로 넘깁니다.
+ * 메인 경로는 블로킹 재시도 없이 다음 레코드로 진행하므로, 문제 있는 메시지 하나가
+ * 같은 파티션의 다른 시험 처리를 막지 않습니다. 재시도/백오프/DLT는 재시도 리스너가 담당합니다.
+ *
+ * 원본 offset은 리스너가 끝나면 커밋되므로, 재시도 토픽 전송은 완료될 때까지 기다립니다.
+ * 전송이 실패하면 ForwardFailedException을 던져 컨테이너 error handler가 원본을 다시 전달하게 합니다.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RetryForwarder {
+
+    public static final String RETRY_SUFFIX = "-retry";
+    public static final String DLT_SUFFIX = "-dlt";
+    public static final String ORIGINAL_TOPIC_HEADER = "x-original-topic";
+    public static final String EXCEPTION_HEADER = "x-exception-message";
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${kafka.retry.forward-timeout-ms:10000}")
+    private long forwardTimeoutMs;
+
+    /**
+     * 재시도 토픽으로 넘기지 못한 경우 (리스너에서 삼키지 말고 그대로 던질 것)
+     */
+    public static class ForwardFailedException extends RuntimeException {
+        public ForwardFailedException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    public void forward(ConsumerRecord<String, String> record, Exception cause) {
+        String retryTopic = record.topic() + RETRY_SUFFIX;
+        ProducerRecord<String, String> retry = new ProducerRecord<>(retryTopic, record.key(), record.value());
+        retry.headers().add(ORIGINAL_TOPIC_HEADER, record.topic().getBytes(StandardCharsets.UTF_8));
+        retry.headers().add(EXCEPTION_HEADER,
+                String.valueOf(cause.getMessage()).getBytes(StandardCharsets.UTF_8));
+
+        try {
+            kafkaTemplate.send(retry).get(forwardTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failed(record, retryTopic, e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw failed(record, retryTopic, e);
+        }
+        Counter.builder("kafka.consumer.retry.forwarded")
+                .tag("topic", record.topic())
+                .description("Records handed off to the retry topic after a processing failure")
+                .register(meterRegistry)
+                .increment();
+        log.warn("🔁 Forwarded {}-{}@{} to {}: {}", record.topic(), record.partition(), record.offset(), retryTopic,
+                cause.getMessage());
+    }
+
+    private ForwardFailedException failed(ConsumerRecord<String, String> record, String retryTopic, Exception e) {
+        Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+        log.error("❌ Failed to forward record {}-{}@{} to {}: {}", record.topic(), record.partition(),
+                record.offset(), retryTopic, cause.getMessage());
+        return new ForwardFailedException("Failed to forward " + record.topic() + "-" + record.partition() + "@"
+                + record.offset() + " to " + retryTopic, cause);
+    }
+}
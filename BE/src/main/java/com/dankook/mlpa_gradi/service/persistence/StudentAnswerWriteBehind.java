@@ -0,0 +1,275 @@
+package com.dankook.mlpa_gradi.service.persistence;
+
+import com.dankook.mlpa_gradi.entity.StudentAnswer;
+import com.dankook.mlpa_gradi.service.StudentAnswerService;
+import com.dankook.mlpa_gradi.service.backpressure.SinkBacklog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ✅ ANSWER_RECOGNITION_RESULT → student_answer write-behind
+ * Kafka 리스너는 결과를 버퍼에 넣기만 하고, 쌓인 결과는 batch-size에 도달하거나 flush-ms가 지나면
+ * JDBC batch로 한 번에 저장합니다. (InMemoryReportRepository는 빠른 조회용으로 그대로 유지)
+ *
+ * - 같은 학생의 결과가 다시 오면 버퍼에서 덮어쓰고, 저장 시 (exam_code, student_id) 행을 지우고 다시 넣어
+ *   Kafka 재전송/재시도에도 중복 행이 생기지 않습니다.
+ * - flush(examCode)는 해당 시험의 버퍼를 호출 스레드에서 바로 저장하며, 진행 중인 백그라운드 flush도 기다립니다.
+ *   채점 완료 처리 전에 호출해 PDF/리포트가 항상 DB 데이터를 보도록 합니다.
+ * - 버퍼에 쌓인 행 수는 SinkBacklog에 반영되어, DB가 밀리면 리스너가 pause 됩니다.
+ * - 제약 조건 위반(등록되지 않은 학번 등)만 버리고, 그 밖의 오류(연결 끊김, 타임아웃 등)는 버퍼에 되돌려
+ *   다음 flush에서 다시 저장합니다. (max-attempts회 실패하면 포기)
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class StudentAnswerWriteBehind {
+
+    private static final String DELETE_SQL = "DELETE FROM student_answer WHERE exam_code = ? AND student_id = ?";
+    private static final String INSERT_SQL = "INSERT INTO student_answer (exam_code, student_id, question_number, "
+            + "sub_question_number, student_answer, answer_count, confidence, is_correct, score, max_score) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final SinkBacklog sinkBacklog;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${persistence.write-behind.batch-size:200}")
+    private int batchSize;
+
+    @Value("${persistence.write-behind.flush-ms:1000}")
+    private long flushMs;
+
+    @Value("${persistence.write-behind.max-attempts:10}")
+    private int maxAttempts;
+
+    // 학생 한 명의 인식 결과 (저장 단위), attempts = 지금까지 저장에 실패한 횟수
+    private record PendingResult(String examCode, Long studentId, List<StudentAnswer> rows, int attempts) {
+    }
+
+    // key = examCode + ":" + studentId, 도착 순서 유지 (버퍼 접근은 buffer 락으로 보호)
+    private final Map<String, PendingResult> buffer = new LinkedHashMap<>();
+    private final AtomicInteger pendingRows = new AtomicInteger();
+    // DB write 직렬화: flush(examCode)가 이미 버퍼에서 빠져 저장 중인 결과까지 기다리게 함
+    private final Object writeLock = new Object();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "student-answer-write-behind");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private TransactionTemplate transactionTemplate;
+    private Counter flushedRows;
+    private Counter failedResults;
+    private Counter requeuedResults;
+    private Timer flushTimer;
+
+    @PostConstruct
+    public void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("persistence.write-behind.pending", pendingRows, AtomicInteger::get)
+                .description("Student answer rows buffered and not yet written")
+                .register(meterRegistry);
+        flushedRows = Counter.builder("persistence.write-behind.flushed")
+                .description("Student answer rows written in JDBC batches")
+                .register(meterRegistry);
+        failedResults = Counter.builder("persistence.write-behind.failed")
+                .description("Student results that could not be written")
+                .register(meterRegistry);
+        requeuedResults = Counter.builder("persistence.write-behind.requeued")
+                .description("Student results put back into the buffer after a retryable write failure")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("persistence.write-behind.flush.latency")
+                .description("Time spent writing one write-behind batch")
+                .register(meterRegistry);
+
+        scheduler.scheduleWithFixedDelay(this::safeFlushAll, flushMs, flushMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 학생 한 명의 인식 결과를 버퍼에 넣습니다. (non-blocking)
+     * 결과에 answers 배열이 없거나 학번이 숫자가 아니면 저장하지 않습니다.
+     */
+    @SuppressWarnings("unchecked")
+    public void enqueue(String examCode, String studentId, Map<String, Object> result) {
+        if (examCode == null || result == null || !(result.get("answers") instanceof List<?> answers)
+                || answers.isEmpty())
+            return;
+
+        PendingResult pending;
+        try {
+            Long sid = StudentAnswerService.parseStudentId(studentId);
+            pending = new PendingResult(examCode, sid,
+                    StudentAnswerService.toEntities(examCode, sid, (List<Map<String, Object>>) answers), 0);
+        } catch (Exception e) {
+            log.warn("⚠️ [WriteBehind] Skipping result of {} in {}: {}", studentId, examCode, e.getMessage());
+            failedResults.increment();
+            return;
+        }
+
+        boolean full;
+        synchronized (buffer) {
+            PendingResult replaced = buffer.put(key(examCode, pending.studentId()), pending);
+            int delta = pending.rows().size() - (replaced != null ? replaced.rows().size() : 0);
+            pendingRows.addAndGet(delta);
+            sinkBacklog.add(delta);
+            full = pendingRows.get() >= batchSize;
+        }
+        if (full)
+            scheduler.execute(this::safeFlushAll);
+    }
+
+    /**
+     * 해당 시험의 버퍼를 지금 저장합니다. 채점 완료 처리 전에 호출합니다.
+     */
+    public void flush(String examCode) {
+        synchronized (writeLock) {
+            write(drain(examCode));
+        }
+    }
+
+    /**
+     * 시험 삭제 시 아직 저장되지 않은 결과를 버립니다. (삭제 후 행이 되살아나지 않도록)
+     */
+    public void discard(String examCode) {
+        synchronized (writeLock) {
+            List<PendingResult> dropped = drain(examCode);
+            int rows = dropped.stream().mapToInt(p -> p.rows().size()).sum();
+            if (rows > 0) {
+                sinkBacklog.remove(rows);
+                log.info("🗑️ [WriteBehind] Discarded {} buffered rows of {}", rows, examCode);
+            }
+        }
+    }
+
+    private void safeFlushAll() {
+        try {
+            synchronized (writeLock) {
+                write(drain(null));
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ [WriteBehind] Flush failed: {}", e.getMessage());
+        }
+    }
+
+    // examCode == null 이면 전체
+    private List<PendingResult> drain(String examCode) {
+        List<PendingResult> drained = new ArrayList<>();
+        synchronized (buffer) {
+            Iterator<PendingResult> it = buffer.values().iterator();
+            while (it.hasNext()) {
+                PendingResult p = it.next();
+                if (examCode == null || examCode.equals(p.examCode())) {
+                    drained.add(p);
+                    pendingRows.addAndGet(-p.rows().size());
+                    it.remove();
+                }
+            }
+        }
+        return drained;
+    }
+
+    // writeLock 안에서만 호출
+    private void write(List<PendingResult> results) {
+        if (results.isEmpty())
+            return;
+        int rows = results.stream().mapToInt(p -> p.rows().size()).sum();
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> insert(results)));
+            flushedRows.increment(rows);
+            log.debug("💾 [WriteBehind] Wrote {} rows for {} students", rows, results.size());
+        } catch (DataIntegrityViolationException e) {
+            // 배치 하나가 실패하면(예: 등록되지 않은 학번의 FK 오류) 학생 단위로 나눠 나머지는 저장
+            log.warn("⚠️ [WriteBehind] Batch write failed ({} students), retrying per student: {}", results.size(),
+                    e.getMessage());
+            for (PendingResult p : results) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(p)));
+                    flushedRows.increment(p.rows().size());
+                } catch (Exception ex) {
+                    requeueOrFail(p, ex);
+                }
+            }
+        } catch (Exception e) {
+            // DB 장애 등 데이터와 무관한 실패 → 학생 단위로 나눠도 소용없으므로 통째로 되돌림
+            log.warn("⚠️ [WriteBehind] Batch write failed ({} students), requeueing: {}", results.size(),
+                    e.getMessage());
+            results.forEach(p -> requeueOrFail(p, e));
+        } finally {
+            sinkBacklog.remove(rows);
+        }
+    }
+
+    // 제약 조건 위반이거나 시도 횟수를 다 쓰면 버리고, 아니면 버퍼에 되돌림
+    // (그 사이 같은 학생의 새 결과가 들어왔으면 새 결과를 유지)
+    private void requeueOrFail(PendingResult p, Exception cause) {
+        if (cause instanceof DataIntegrityViolationException || p.attempts() + 1 >= maxAttempts) {
+            failedResults.increment();
+            log.error("❌ [WriteBehind] Failed to save answers of {} in {} after {} attempts: {}", p.studentId(),
+                    p.examCode(), p.attempts() + 1, cause.getMessage());
+            return;
+        }
+        PendingResult retry = new PendingResult(p.examCode(), p.studentId(), p.rows(), p.attempts() + 1);
+        synchronized (buffer) {
+            if (buffer.putIfAbsent(key(p.examCode(), p.studentId()), retry) == null) {
+                pendingRows.addAndGet(retry.rows().size());
+                sinkBacklog.add(retry.rows().size());
+            }
+        }
+        requeuedResults.increment();
+    }
+
+    private void insert(List<PendingResult> results) {
+        jdbcTemplate.batchUpdate(DELETE_SQL, results, batchSize, (ps, p) -> {
+            ps.setString(1, p.examCode());
+            ps.setLong(2, p.studentId());
+        });
+        List<StudentAnswer> rows = results.stream().flatMap(p -> p.rows().stream()).toList();
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, batchSize, (ps, a) -> {
+            ps.setString(1, a.getExamCode());
+            ps.setLong(2, a.getStudent().getStudentId());
+            ps.setInt(3, a.getQuestionNumber());
+            ps.setInt(4, a.getSubQuestionNumber());
+            ps.setString(5, a.getStudentAnswer());
+            ps.setInt(6, a.getAnswerCount());
+            ps.setFloat(7, a.getConfidence());
+            ps.setBoolean(8, a.isCorrect());
+            ps.setFloat(9, a.getScore());
+            ps.setFloat(10, a.getMaxScore());
+        });
+    }
+
+    private static String key(String examCode, Long studentId) {
+        return examCode + ":" + studentId;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        // 종료 전에 남은 결과를 저장
+        safeFlushAll();
+    }
+}
@@ -0,0 +1,48 @@
+package com.dankook.mlpa_gradi.service.progress;
+
+import com.dankook.mlpa_gradi.dto.ProgressSnapshot;
+import com.dankook.mlpa_gradi.service.SseService;
+import com.dankook.mlpa_gradi.service.sse.ProgressCoalescer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * ✅ 다른 레플리카에서 온 진행 상태 변경을 이 노드의 SSE 구독자에게 전달
+ * (Kafka 결과 메시지를 다른 노드가 소비했더라도, 이 노드에 붙은 브라우저가 진행률을 받을 수 있게 함)
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ClusterProgressRelay implements ProgressStateListener {
+
+    private final ProgressStateStore progressStateStore;
+    private final SseService sseService;
+    private final ProgressCoalescer progressCoalescer;
+
+    @PostConstruct
+    public void register() {
+        progressStateStore.addListener(this);
+    }
+
+    @Override
+    public void onSnapshot(ProgressSnapshot snapshot) {
+        if (sseService.applyRemoteSnapshot(snapshot)) {
+            progressCoalescer.submit(snapshot.examCode(), snapshot.index(), snapshot.total(), snapshot.status(),
+                    null, null);
+        }
+    }
+
+    @Override
+    public void onEvent(String examCode, String eventName, String json) {
+        progressCoalescer.flush(examCode);
+        sseService.deliverRemoteEvent(examCode, eventName, json);
+    }
+
+    @Override
+    public void onRemoved(String examCode) {
+        log.info("🔌 [ClusterProgressRelay] Session removed on another replica: {}", examCode);
+        sseService.removeLocalSession(examCode);
+    }
+}
@@ -0,0 +1,48 @@
+package com.dankook.mlpa_gradi.service.progress;
+
+import com.dankook.mlpa_gradi.dto.ProgressSnapshot;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ✅ 단일 인스턴스용 진행 상태 저장소 (기본값)
+ * 다른 레플리카가 없으므로 리스너는 호출되지 않습니다.
+ */
+public class InMemoryProgressStateStore implements ProgressStateStore {
+
+    private final Map<String, ProgressSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(ProgressSnapshot snapshot) {
+        snapshots.merge(snapshot.examCode(), snapshot,
+                (current, incoming) -> incoming.compareOrder(current) >= 0 ? incoming : current);
+    }
+
+    @Override
+    public void publishEvent(String examCode, String eventName, String json) {
+        // 단일 노드: 전달할 대상 없음
+    }
+
+    @Override
+    public void remove(String examCode) {
+        snapshots.remove(examCode);
+    }
+
+    @Override
+    public Optional<ProgressSnapshot> get(String examCode) {
+        return Optional.ofNullable(snapshots.get(examCode));
+    }
+
+    @Override
+    public Collection<ProgressSnapshot> all() {
+        return snapshots.values();
+    }
+
+    @Override
+    public void addListener(ProgressStateListener listener) {
+        // 단일 노드: 원격 변경 없음
+    }
+}
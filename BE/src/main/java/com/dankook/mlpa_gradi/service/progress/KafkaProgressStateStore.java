@@ -0,0 +1,182 @@
+package com.dankook.mlpa_gradi.service.progress;
+
+import com.dankook.mlpa_gradi.dto.ProgressSnapshot;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * ✅ Kafka compacted topic 기반 진행 상태 공유 저장소
+ * - state topic (compacted, key=examCode): 시험별 최신 스냅샷. 새 레플리카는 처음부터 읽어 전체 상태를 복원
+ * - event topic (짧은 retention): answer_result / fallback_required 등 개별 SSE 이벤트 중계
+ *
+ * 레플리카마다 고유한 group id로 구독하므로 모든 노드가 모든 변경을 받습니다.
+ * offset은 커밋하지 않으므로 같은 node id로 재시작해도 state topic을 처음부터 다시 읽어 상태를 복원합니다.
+ * 각 노드는 (epoch, version)이 더 큰 스냅샷만 채택합니다. version은 노드마다 따로 증가하는 카운터라
+ * 여러 노드가 같은 시험을 동시에 갱신하면 순서를 보장하지 못하며, 한 시험은 보통 한 노드(파티션 소유자)가
+ * 갱신한다는 전제에서 마지막 갱신이 수렴합니다.
+ */
+@Slf4j
+public class KafkaProgressStateStore implements ProgressStateStore, SmartLifecycle {
+
+    private static final String ORIGIN = "origin";
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ConsumerFactory<String, String> consumerFactory;
+    private final ObjectMapper objectMapper;
+    private final String stateTopic;
+    private final String eventTopic;
+    private final String nodeId;
+
+    private final Map<String, ProgressSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final List<ProgressStateListener> listeners = new CopyOnWriteArrayList<>();
+    private KafkaMessageListenerContainer<String, String> container;
+    private volatile long startedAt;
+
+    public KafkaProgressStateStore(KafkaTemplate<String, String> kafkaTemplate,
+            ConsumerFactory<String, String> consumerFactory, ObjectMapper objectMapper,
+            String stateTopic, String eventTopic, String nodeId) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.consumerFactory = consumerFactory;
+        this.objectMapper = objectMapper;
+        this.stateTopic = stateTopic;
+        this.eventTopic = eventTopic;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void publish(ProgressSnapshot snapshot) {
+        snapshots.merge(snapshot.examCode(), snapshot,
+                (current, incoming) -> incoming.compareOrder(current) >= 0 ? incoming : current);
+        try {
+            ObjectNode envelope = objectMapper.createObjectNode();
+            envelope.put(ORIGIN, nodeId);
+            envelope.set("snapshot", objectMapper.valueToTree(snapshot));
+            kafkaTemplate.send(stateTopic, snapshot.examCode(), objectMapper.writeValueAsString(envelope));
+        } catch (Exception e) {
+            log.warn("⚠️ [ProgressState] Failed to publish snapshot for {}: {}", snapshot.examCode(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void publishEvent(String examCode, String eventName, String json) {
+        try {
+            ObjectNode envelope = objectMapper.createObjectNode();
+            envelope.put(ORIGIN, nodeId);
+            envelope.put("eventName", eventName);
+            envelope.put("json", json);
+            kafkaTemplate.send(eventTopic, examCode, objectMapper.writeValueAsString(envelope));
+        } catch (Exception e) {
+            log.warn("⚠️ [ProgressState] Failed to relay event {} for {}: {}", eventName, examCode, e.getMessage());
+        }
+    }
+
+    @Override
+    public void remove(String examCode) {
+        snapshots.remove(examCode);
+        // compacted topic tombstone (value=null) → 다른 레플리카에서도 제거
+        kafkaTemplate.send(stateTopic, examCode, null);
+    }
+
+    @Override
+    public Optional<ProgressSnapshot> get(String examCode) {
+        return Optional.ofNullable(snapshots.get(examCode));
+    }
+
+    @Override
+    public Collection<ProgressSnapshot> all() {
+        return snapshots.values();
+    }
+
+    @Override
+    public void addListener(ProgressStateListener listener) {
+        listeners.add(listener);
+    }
+
+    private void onRecord(ConsumerRecord<String, String> record) {
+        String examCode = record.key();
+        if (examCode == null)
+            return;
+        try {
+            if (stateTopic.equals(record.topic())) {
+                onStateRecord(examCode, record.value());
+            } else if (record.timestamp() >= startedAt) {
+                // 이벤트는 실시간 중계용이므로 기동 이전 메시지는 건너뜀 (재생은 각 노드의 리플레이 로그 담당)
+                onEventRecord(examCode, record.value());
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ [ProgressState] Failed to apply record from {}: {}", record.topic(), e.getMessage());
+        }
+    }
+
+    private void onStateRecord(String examCode, String value) throws Exception {
+        if (value == null) {
+            if (snapshots.remove(examCode) != null)
+                listeners.forEach(l -> l.onRemoved(examCode));
+            return;
+        }
+        JsonNode envelope = objectMapper.readTree(value);
+        ProgressSnapshot incoming = objectMapper.treeToValue(envelope.get("snapshot"), ProgressSnapshot.class);
+        ProgressSnapshot merged = snapshots.merge(examCode, incoming,
+                (current, next) -> next.compareOrder(current) >= 0 ? next : current);
+        if (merged == incoming && !nodeId.equals(envelope.path(ORIGIN).asText()))
+            listeners.forEach(l -> l.onSnapshot(incoming));
+    }
+
+    private void onEventRecord(String examCode, String value) throws Exception {
+        if (value == null)
+            return;
+        JsonNode envelope = objectMapper.readTree(value);
+        if (nodeId.equals(envelope.path(ORIGIN).asText()))
+            return;
+        String eventName = envelope.path("eventName").asText();
+        String json = envelope.path("json").asText();
+        listeners.forEach(l -> l.onEvent(examCode, eventName, json));
+    }
+
+    @Override
+    public void start() {
+        startedAt = System.currentTimeMillis();
+        ContainerProperties props = new ContainerProperties(stateTopic, eventTopic);
+        // 레플리카마다 고유 group → 모든 노드가 모든 파티션을 받음
+        props.setGroupId("mlpa-progress-" + nodeId);
+        // offset을 커밋하지 않음 (ack 없는 MANUAL + auto commit off) → 기동할 때마다 earliest부터 다시 읽음
+        // (같은 hostname으로 재시작한 레플리카도 커밋된 위치에서 이어 읽지 않고 전체 상태를 복원)
+        props.setAckMode(ContainerProperties.AckMode.MANUAL);
+        props.getKafkaConsumerProperties().setProperty(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        props.getKafkaConsumerProperties().setProperty(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.setMessageListener((MessageListener<String, String>) this::onRecord);
+        container = new KafkaMessageListenerContainer<>(consumerFactory, props);
+        container.setBeanName("progressStateContainer");
+        container.start();
+        log.info("📡 [ProgressState] Kafka progress-state backend started (node={}, topics={}, {})", nodeId,
+                stateTopic, eventTopic);
+    }
+
+    @Override
+    public void stop() {
+        if (container != null)
+            container.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return container != null && container.isRunning();
+    }
+}
@@ -0,0 +1,17 @@
+package com.dankook.mlpa_gradi.service.progress;
+
+import com.dankook.mlpa_gradi.dto.ProgressSnapshot;
+
+/**
+ * 다른 레플리카에서 발생한 진행 상태 변경 콜백 (자기 노드가 보낸 변경은 호출되지 않음)
+ */
+public interface ProgressStateListener {
+
+    void onSnapshot(ProgressSnapshot snapshot);
+
+    default void onEvent(String examCode, String eventName, String json) {
+    }
+
+    default void onRemoved(String examCode) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.dankook.mlpa_gradi.service.progress;
+
+import com.dankook.mlpa_gradi.dto.ProgressSnapshot;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * ✅ 채점 진행 상태 공유 백엔드
+ * 로컬 노드의 진행률 스냅샷/개별 이벤트를 다른 BE 레플리카와 공유합니다.
+ * - memory: 단일 인스턴스용 (공유 없음)
+ * - kafka: compacted topic 기반, 모든 레플리카가 어느 시험의 스트림이든 제공 가능
+ */
+public interface ProgressStateStore {
+
+    /** 로컬에서 바뀐 진행률 스냅샷을 공유 */
+    void publish(ProgressSnapshot snapshot);
+
+    /** 진행률 외 개별 SSE 이벤트(answer_result, fallback_required 등)를 다른 레플리카로 전달 */
+    void publishEvent(String examCode, String eventName, String json);
+
+    /** 세션 종료/삭제 */
+    void remove(String examCode);
+
+    Optional<ProgressSnapshot> get(String examCode);
+
+    Collection<ProgressSnapshot> all();
+
+    /** 다른 레플리카에서 발생한 변경을 받을 리스너 등록 */
+    void addListener(ProgressStateListener listener);
+}
@@ -0,0 +1,204 @@
+package com.dankook.mlpa_gradi.service.s3;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * ✅ 시험별 S3 객체 인덱스 (key, 페이지 인덱스, 인식된 학번, 크기, ETag)
+ * 학생 이미지 조회 때마다 uploads/{examCode}/ 전체를 LIST 하고 key.contains(학번)로 거르던 방식을 대체합니다.
+ *
+ * - presign 일괄 생성 / 업로드 완료 시: key + 페이지 인덱스 등록
+ * - 학번 인식 이벤트 수신 시: 해당 페이지에 학번 연결 (unknown_id는 연결하지 않음)
+ * - S3PresignService.rebuildObjectIndex: S3를 한 번 나열해 크기/ETag 포함 전체 재구성
+ *   (재기동 후 처음 조회되거나 재구성한 지 max-age가 지난 시험은 조회 시 한 번 재구성 → AI가 나중에 올린
+ *   answer/ 객체도 반영됨)
+ *
+ * 업로드 원본 ↔ 학번 연결은 이 JVM이 받은 인식 이벤트로만 생기므로, 재기동 후나 해당 시험 파티션을 소비하지 않은
+ * 레플리카에서는 연결이 없을 수 있습니다. 이때는 기존 방식대로 key에 학번이 들어 있는 업로드 원본을 돌려줍니다.
+ * 모든 변경은 시험 단위로 exams.compute 안에서 수행하고(재구성은 다 채운 뒤 한 번에 교체),
+ * expire-after-minutes 동안 조회/갱신이 없는 시험은 정리합니다. (다음 조회 시 S3 나열로 재구성)
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ExamObjectIndex {
+
+    public record ExamObject(String key, Integer pageIndex, String studentId, Long size, String eTag) {
+
+        ExamObject merge(ExamObject other) {
+            return new ExamObject(key,
+                    other.pageIndex != null ? other.pageIndex : pageIndex,
+                    other.studentId != null ? other.studentId : studentId,
+                    other.size != null ? other.size : size,
+                    other.eTag != null ? other.eTag : eTag);
+        }
+    }
+
+    private static final String UNKNOWN_STUDENT = "unknown_id";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${aws.s3.index.expire-after-minutes:180}")
+    private long expireAfterMinutes;
+
+    // 시험 하나의 객체들 (key 기준 + 페이지/학번 보조 인덱스)
+    private static class ExamEntries {
+        final Map<String, ExamObject> byKey = new ConcurrentHashMap<>();
+        final Map<Integer, String> keyByPage = new ConcurrentHashMap<>();
+        final Map<String, Set<String>> keysByStudent = new ConcurrentHashMap<>();
+        // 마지막으로 S3 전체 나열로 재구성한 시각 (0 = 아직 안 함)
+        volatile long rebuiltAt;
+        // 마지막 조회/갱신 시각 (유휴 시험 정리용)
+        volatile long touchedAt = System.currentTimeMillis();
+
+        void put(ExamObject object) {
+            ExamObject merged = byKey.merge(object.key(), object, ExamObject::merge);
+            if (merged.pageIndex() != null)
+                keyByPage.put(merged.pageIndex(), merged.key());
+            if (merged.studentId() != null)
+                keysByStudent.computeIfAbsent(merged.studentId(), s -> ConcurrentHashMap.newKeySet())
+                        .add(merged.key());
+        }
+    }
+
+    private final Map<String, ExamEntries> exams = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("s3.index.exams", exams, Map::size).register(meterRegistry);
+        Gauge.builder("s3.index.objects", exams,
+                m -> m.values().stream().mapToInt(e -> e.byKey.size()).sum()).register(meterRegistry);
+    }
+
+    public void put(String examCode, ExamObject object) {
+        update(examCode, entries -> entries.put(object));
+    }
+
+    /**
+     * 인식된 학번을 페이지에 연결합니다. s3Key가 없으면 업로드 인덱스로 페이지를 찾습니다.
+     */
+    public void assignStudent(String examCode, String s3Key, Integer pageIndex, String studentId) {
+        if (studentId == null || studentId.isBlank() || UNKNOWN_STUDENT.equals(studentId))
+            return;
+        update(examCode, entries -> {
+            String key = s3Key != null && !s3Key.isEmpty() ? s3Key
+                    : pageIndex != null ? entries.keyByPage.get(pageIndex) : null;
+            if (key == null)
+                return;
+            // 재인식으로 학번이 바뀌면 이전 학번 목록에서 제거
+            ExamObject previous = entries.byKey.get(key);
+            if (previous != null && previous.studentId() != null && !previous.studentId().equals(studentId)) {
+                Set<String> keys = entries.keysByStudent.get(previous.studentId());
+                if (keys != null)
+                    keys.remove(key);
+                entries.byKey.put(key, new ExamObject(key, previous.pageIndex(), null, previous.size(),
+                        previous.eTag()));
+            }
+            entries.put(new ExamObject(key, pageIndex, studentId, null, null));
+        });
+    }
+
+    /**
+     * S3 나열 결과로 시험 인덱스를 교체합니다. 새 인덱스를 다 채운 뒤 한 번에 바꾸므로 재구성 중에도
+     * 조회는 이전 인덱스를 봅니다. 이전 인덱스에 있던 학번 연결은 (S3에 남아 있는 key만) 유지합니다.
+     */
+    public void replace(String examCode, Collection<ExamObject> objects) {
+        String code = normalize(examCode);
+        ExamEntries fresh = new ExamEntries();
+        objects.forEach(fresh::put);
+        ExamEntries published = exams.compute(code, (k, previous) -> {
+            if (previous != null) {
+                previous.byKey.values().stream()
+                        .filter(o -> o.studentId() != null && fresh.byKey.containsKey(o.key()))
+                        .forEach(o -> fresh.put(new ExamObject(o.key(), null, o.studentId(), null, null)));
+            }
+            fresh.rebuiltAt = System.currentTimeMillis();
+            return fresh;
+        });
+        log.info("🗂️ [ExamObjectIndex] Rebuilt index for {}: {} objects, {} students", code,
+                published.byKey.size(), published.keysByStudent.size());
+    }
+
+    public boolean needsRebuild(String examCode, long maxAgeMs) {
+        ExamEntries entries = exams.get(normalize(examCode));
+        return entries == null || System.currentTimeMillis() - entries.rebuiltAt > maxAgeMs;
+    }
+
+    /**
+     * 학생의 객체 key 목록 (페이지 순)
+     * 인식 이벤트로 연결된 key가 없으면 key에 학번이 들어 있는 업로드 원본으로 대신합니다.
+     */
+    public List<String> keysForStudent(String examCode, String studentId) {
+        ExamEntries entries = exams.get(normalize(examCode));
+        if (entries == null || studentId == null || studentId.isBlank())
+            return List.of();
+        entries.touchedAt = System.currentTimeMillis();
+        List<ExamObject> objects = new ArrayList<>();
+        Set<String> keys = entries.keysByStudent.get(studentId);
+        if (keys != null && !keys.isEmpty()) {
+            for (String key : keys) {
+                ExamObject o = entries.byKey.get(key);
+                if (o != null)
+                    objects.add(o);
+            }
+        } else {
+            entries.byKey.values().stream()
+                    .filter(o -> !o.key().startsWith("answer/") && o.key().contains(studentId))
+                    .forEach(objects::add);
+        }
+        objects.sort(Comparator.comparing(ExamObject::pageIndex, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(ExamObject::key));
+        return objects.stream().map(ExamObject::key).toList();
+    }
+
+    public Optional<ExamObject> get(String examCode, String key) {
+        ExamEntries entries = exams.get(normalize(examCode));
+        return entries != null ? Optional.ofNullable(entries.byKey.get(key)) : Optional.empty();
+    }
+
+    public void remove(String examCode) {
+        exams.remove(normalize(examCode));
+    }
+
+    // 조회/갱신이 없는 시험의 인덱스 정리
+    @Scheduled(fixedRate = 60000)
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - Duration.ofMinutes(expireAfterMinutes).toMillis();
+        exams.entrySet().removeIf(e -> {
+            boolean idle = e.getValue().touchedAt < cutoff;
+            if (idle)
+                log.debug("🧹 [ExamObjectIndex] Evicted idle index for {}", e.getKey());
+            return idle;
+        });
+    }
+
+    private void update(String examCode, Consumer<ExamEntries> change) {
+        exams.compute(normalize(examCode), (k, entries) -> {
+            ExamEntries target = entries != null ? entries : new ExamEntries();
+            change.accept(target);
+            target.touchedAt = System.currentTimeMillis();
+            return target;
+        });
+    }
+
+    private static String normalize(String examCode) {
+        return examCode != null ? examCode.trim().toUpperCase() : "";
+    }
+}
@@ -0,0 +1,119 @@
+package com.dankook.mlpa_gradi.service.s3;
+
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * ✅ 대량 presigned URL 병렬 생성
+ * 서명은 네트워크 없이 HMAC 계산만 하는 CPU 작업이므로, 입력을 parallelism 개의 구간으로 나눠
+ * 구간마다 virtual thread 하나에서 순서대로 서명합니다. (동시 실행 수 = 코어 수로 제한)
+ * 결과는 인덱스 위치에 기록되므로 입력 순서가 그대로 유지됩니다.
+ * 작은 배치(sequential-threshold 미만)는 스레드 전환 비용이 더 커서 호출 스레드에서 바로 처리합니다.
+ */
+public class ParallelPresigner implements AutoCloseable {
+
+    // 업로드 한 건의 서명 대상
+    public record PutTarget(String key, String contentType, Map<String, String> metadata) {
+    }
+
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final Duration signatureDuration;
+    private final int parallelism;
+    private final int sequentialThreshold;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ParallelPresigner(S3Presigner presigner, String bucket, Duration signatureDuration, int parallelism,
+            int sequentialThreshold) {
+        this.presigner = presigner;
+        this.bucket = bucket;
+        this.signatureDuration = signatureDuration;
+        this.parallelism = Math.max(1, parallelism);
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    public String presignPut(PutTarget target) {
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(target.key())
+                .contentType(target.contentType())
+                .metadata(target.metadata())
+                .build();
+
+        PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
+                .signatureDuration(signatureDuration)
+                .putObjectRequest(putObjectRequest)
+                .build();
+
+        return presigner.presignPutObject(presignRequest).url().toString();
+    }
+
+    public List<String> presignPuts(List<PutTarget> targets) {
+        return map(targets, this::presignPut);
+    }
+
+    // 기존 방식(한 건씩 순차 서명) - 벤치마크 기준선
+    public List<String> presignPutsSequential(List<PutTarget> targets) {
+        List<String> urls = new ArrayList<>(targets.size());
+        for (PutTarget target : targets) {
+            urls.add(presignPut(target));
+        }
+        return urls;
+    }
+
+    /**
+     * items를 병렬로 서명하고 입력 순서대로 돌려줍니다.
+     * 하나라도 실패하면 그 예외를 그대로 던집니다.
+     */
+    public <T, R> List<R> map(List<T> items, Function<T, R> sign) {
+        int n = items.size();
+        if (n < sequentialThreshold || parallelism == 1) {
+            List<R> urls = new ArrayList<>(n);
+            for (T item : items) {
+                urls.add(sign.apply(item));
+            }
+            return urls;
+        }
+
+        Object[] urls = new Object[n];
+        int chunks = Math.min(parallelism, n);
+        int chunkSize = (n + chunks - 1) / chunks;
+        List<CompletableFuture<Void>> futures = new ArrayList<>(chunks);
+        for (int from = 0; from < n; from += chunkSize) {
+            int start = from;
+            int end = Math.min(n, from + chunkSize);
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = start; i < end; i++) {
+                    urls[i] = sign.apply(items.get(i));
+                }
+            }, executor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw e;
+        }
+        @SuppressWarnings("unchecked")
+        List<R> result = (List<R>) Arrays.asList(urls);
+        return result;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,14 @@
+package com.dankook.mlpa_gradi.service.s3;
+
+/**
+ * ✅ prefix 하나를 지운 결과
+ * listed: 페이지네이션으로 끝까지 나열한 객체 수
+ * deleted: DeleteObjects가 성공으로 돌려준 객체 수 (listed - deleted = 남은 객체)
+ * failedRequests: 요청 자체가 실패한 1,000건 단위 DeleteObjects 호출 수
+ */
+public record PrefixDeleteResult(String prefix, long listed, long deleted, int failedRequests) {
+
+    public boolean complete() {
+        return failedRequests == 0 && deleted == listed;
+    }
+}
@@ -0,0 +1,166 @@
+package com.dankook.mlpa_gradi.service.s3;
+
+import com.dankook.mlpa_gradi.dto.PresignedPostResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ✅ 시험 전체 업로드용 presigned POST 정책 (SigV4, 서명 1회)
+ * 이미지마다 PUT URL을 서명하는 대신 uploads/{examCode}/ 아래 어떤 key든 올릴 수 있는 POST 정책 하나를 발급합니다.
+ * 조건: 버킷 일치, key prefix, Content-Type 정확히 일치(image/png 또는 image/jpeg), 파일 크기 범위, 만료 시각
+ * POST 정책은 eq / starts-with만 지원하므로 Content-Type은 정책마다 하나로 고정합니다. (형식이 섞이면 형식별로 발급)
+ * → presign 비용이 페이지 수와 무관(O(1))하고, 만료를 길게 잡아도 범위는 해당 시험 prefix로 제한됩니다.
+ *
+ * AWS SDK v2에는 POST 정책 서명 API가 없어 SigV4 서명을 직접 계산합니다.
+ * 클라이언트는 fields를 그대로 form 필드로 넣고 key = {keyPrefix}{index}_{filename}, 마지막에 file 필드를 붙여 전송합니다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PresignedPostService {
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final Set<String> CONTENT_TYPES = Set.of("image/png", "image/jpeg");
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter DATE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd")
+            .withZone(ZoneOffset.UTC);
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${aws.credentials.access-key}")
+    private String accessKey;
+
+    @Value("${aws.credentials.secret-key}")
+    private String secretKey;
+
+    @Value("${aws.region.static}")
+    private String region;
+
+    @Value("${aws.endpoint:}")
+    private String endpoint;
+
+    @Value("${aws.s3.path-style:false}")
+    private boolean pathStyle;
+
+    @Value("${aws.s3.bucket}")
+    private String bucket;
+
+    @Value("${aws.s3.prefix:uploads}")
+    private String prefix;
+
+    @Value("${aws.s3.post-policy.expiry-minutes:120}")
+    private long expiryMinutes;
+
+    @Value("${aws.s3.post-policy.max-file-bytes:20971520}")
+    private long maxFileBytes;
+
+    public PresignedPostResponse createUploadPolicy(String examCode, String contentType) {
+        if (examCode == null || examCode.isBlank())
+            throw new IllegalArgumentException("examCode is required");
+        if (contentType == null || !CONTENT_TYPES.contains(contentType))
+            throw new IllegalArgumentException("contentType must be one of " + CONTENT_TYPES);
+
+        String keyPrefix = String.format("%s/%s/", prefix, examCode.trim());
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(Duration.ofMinutes(expiryMinutes));
+        String amzDate = AMZ_DATE.format(now);
+        String dateStamp = DATE_STAMP.format(now);
+        String credential = String.format("%s/%s/%s/s3/aws4_request", accessKey, dateStamp, region);
+
+        String policy = policyDocument(keyPrefix, contentType, expiresAt, credential, amzDate);
+        String encodedPolicy = Base64.getEncoder().encodeToString(policy.getBytes(StandardCharsets.UTF_8));
+        String signature = sign(signingKey(secretKey, dateStamp, region), encodedPolicy);
+
+        // 클라이언트가 form에 그대로 넣을 필드 (key, file은 파일마다 클라이언트가 지정)
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("Content-Type", contentType);
+        fields.put("x-amz-algorithm", ALGORITHM);
+        fields.put("x-amz-credential", credential);
+        fields.put("x-amz-date", amzDate);
+        fields.put("policy", encodedPolicy);
+        fields.put("x-amz-signature", signature);
+
+        log.info("📡 Issued upload POST policy for {} (prefix={}, type={}, expires={})", examCode, keyPrefix,
+                contentType, expiresAt);
+        return new PresignedPostResponse(examCode, uploadUrl(), keyPrefix, fields, expiresAt.toString(),
+                maxFileBytes);
+    }
+
+    private String policyDocument(String keyPrefix, String contentType, Instant expiresAt, String credential,
+            String amzDate) {
+        ObjectNode policy = objectMapper.createObjectNode();
+        policy.put("expiration", DateTimeFormatter.ISO_INSTANT.format(expiresAt));
+        ArrayNode conditions = policy.putArray("conditions");
+        conditions.addObject().put("bucket", bucket);
+        conditions.addArray().add("starts-with").add("$key").add(keyPrefix);
+        conditions.addObject().put("Content-Type", contentType);
+        conditions.addArray().add("content-length-range").add(1).add(maxFileBytes);
+        // 기존 PUT 업로드와 같은 메타데이터를 선택적으로 붙일 수 있게 허용
+        conditions.addArray().add("starts-with").add("$x-amz-meta-total").add("");
+        conditions.addArray().add("starts-with").add("$x-amz-meta-index").add("");
+        conditions.addObject().put("x-amz-algorithm", ALGORITHM);
+        conditions.addObject().put("x-amz-credential", credential);
+        conditions.addObject().put("x-amz-date", amzDate);
+        try {
+            return objectMapper.writeValueAsString(policy);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize POST policy", e);
+        }
+    }
+
+    // POST 대상 URL: endpoint override(로컬 S3 호환 서버) 또는 리전 S3 엔드포인트
+    private String uploadUrl() {
+        if (endpoint != null && !endpoint.isEmpty()) {
+            String base = endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint;
+            if (pathStyle)
+                return base + "/" + bucket + "/";
+            int scheme = base.indexOf("://");
+            return base.substring(0, scheme + 3) + bucket + "." + base.substring(scheme + 3) + "/";
+        }
+        return pathStyle
+                ? String.format("https://s3.%s.amazonaws.com/%s/", region, bucket)
+                : String.format("https://%s.s3.%s.amazonaws.com/", bucket, region);
+    }
+
+    // SigV4 서명 키: secret → 날짜 → 리전 → 서비스(s3) → aws4_request 순으로 HMAC
+    static byte[] signingKey(String secretKey, String dateStamp, String region) {
+        byte[] kDate = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), dateStamp);
+        byte[] kRegion = hmac(kDate, region);
+        byte[] kService = hmac(kRegion, "s3");
+        return hmac(kService, "aws4_request");
+    }
+
+    // POST 정책 서명 = hex(HMAC(서명 키, base64 정책))
+    static String sign(byte[] signingKey, String encodedPolicy) {
+        return HexFormat.of().formatHex(hmac(signingKey, encodedPolicy));
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+}
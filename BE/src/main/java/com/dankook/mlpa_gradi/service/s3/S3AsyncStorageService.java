@@ -0,0 +1,127 @@
+package com.dankook.mlpa_gradi.service.s3;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ✅ S3AsyncClient 기반 non-blocking 저장소 작업 (나열 / prefix 삭제)
+ * 요청 스레드가 S3 왕복 동안 묶이지 않도록 모든 작업이 CompletableFuture(또는 Flux)를 돌려줍니다.
+ *
+ * - 나열: listObjectsV2Paginator를 Reactor로 구독 → 소비하는 만큼만 다음 페이지 요청
+ * - 삭제: 나열 스트림을 1,000개씩 묶어 DeleteObjects를 delete.concurrency개까지 동시에 보냄
+ *   (동시 요청이 가득 차면 페이지 요청도 멈추는 backpressure)
+ * - 여러 prefix 삭제는 서로 기다리지 않고 동시에 진행
+ *
+ * aws.endpoint(+ aws.s3.path-style=true)로 로컬 S3 호환 서버(MinIO 등)에 붙여 확인할 수 있습니다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class S3AsyncStorageService {
+
+    // DeleteObjects 한 번에 지울 수 있는 최대 키 수
+    private static final int DELETE_BATCH_SIZE = 1000;
+
+    private final S3AsyncClient s3AsyncClient;
+
+    @Value("${aws.s3.bucket}")
+    private String bucket;
+
+    @Value("${aws.s3.delete.concurrency:4}")
+    private int deleteConcurrency;
+
+    /**
+     * prefix 아래 객체를 페이지 단위로 지연 조회 (continuation token을 끝까지 따라감)
+     */
+    public Flux<S3Object> stream(String prefix) {
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(bucket)
+                .prefix(prefix)
+                .build();
+        return Flux.from(s3AsyncClient.listObjectsV2Paginator(request).contents());
+    }
+
+    public CompletableFuture<List<S3Object>> list(String prefix) {
+        return stream(prefix).collectList().toFuture();
+    }
+
+    public CompletableFuture<List<String>> listKeys(String prefix) {
+        return stream(prefix).map(S3Object::key).collectList().toFuture();
+    }
+
+    /**
+     * prefix 아래 모든 객체 삭제. 나열/삭제 중 실패가 있어도 예외 대신 결과에 실패 수를 담아 완료합니다.
+     */
+    public CompletableFuture<PrefixDeleteResult> deletePrefix(String prefix) {
+        AtomicLong listed = new AtomicLong();
+        AtomicLong deleted = new AtomicLong();
+        AtomicInteger failedRequests = new AtomicInteger();
+
+        return stream(prefix)
+                .map(obj -> ObjectIdentifier.builder().key(obj.key()).build())
+                .buffer(DELETE_BATCH_SIZE)
+                .doOnNext(batch -> listed.addAndGet(batch.size()))
+                .flatMap(batch -> Mono.fromFuture(() -> deleteBatch(prefix, batch))
+                        .doOnNext(deleted::addAndGet)
+                        .onErrorResume(e -> {
+                            failedRequests.incrementAndGet();
+                            log.error("❌ DeleteObjects failed for {} ({} keys): {}", prefix, batch.size(),
+                                    e.getMessage());
+                            return Mono.empty();
+                        }), deleteConcurrency)
+                .then(Mono.fromSupplier(() -> new PrefixDeleteResult(prefix, listed.get(), deleted.get(),
+                        failedRequests.get())))
+                .onErrorResume(e -> {
+                    // 나열 자체가 실패 (지금까지 보낸 삭제 결과는 반영)
+                    log.error("❌ Failed to list S3 objects with prefix {}: {}", prefix, e.getMessage());
+                    return Mono.just(new PrefixDeleteResult(prefix, listed.get(), deleted.get(),
+                            failedRequests.get() + 1));
+                })
+                .doOnNext(result -> {
+                    if (!result.complete())
+                        log.warn("⚠️ S3 prefix {} partially deleted: {}/{} objects ({} failed requests)", prefix,
+                                result.deleted(), result.listed(), result.failedRequests());
+                })
+                .toFuture();
+    }
+
+    /**
+     * 여러 prefix를 동시에 삭제하고 입력 순서대로 결과를 돌려줍니다.
+     */
+    public CompletableFuture<List<PrefixDeleteResult>> deletePrefixes(List<String> prefixes) {
+        return Flux.fromIterable(prefixes)
+                .flatMapSequential(prefix -> Mono.fromFuture(() -> deletePrefix(prefix)))
+                .collectList()
+                .toFuture();
+    }
+
+    // 1,000개 이하 한 번의 DeleteObjects. quiet 모드라 응답에는 실패한 키만 담김
+    private CompletableFuture<Long> deleteBatch(String prefix, List<ObjectIdentifier> identifiers) {
+        DeleteObjectsRequest request = DeleteObjectsRequest.builder()
+                .bucket(bucket)
+                .delete(d -> d.objects(identifiers).quiet(true))
+                .build();
+
+        return s3AsyncClient.deleteObjects(request).thenApply(response -> {
+            int errors = response.hasErrors() ? response.errors().size() : 0;
+            if (errors > 0)
+                log.warn("⚠️ {} keys under {} were not deleted (first: {} {})", errors, prefix,
+                        response.errors().get(0).key(), response.errors().get(0).code());
+            return (long) identifiers.size() - errors;
+        });
+    }
+}
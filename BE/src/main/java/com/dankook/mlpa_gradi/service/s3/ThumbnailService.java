@@ -0,0 +1,349 @@
+package com.dankook.mlpa_gradi.service.s3;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ✅ 검토 화면용 썸네일 / 헤더 크롭 생성
+ * 검토 페이지가 원본 스캔(수 MB)을 그대로 받지 않도록 인식 이벤트가 도착하면 축소 JPEG를 thumb/ 아래에 만들어 둡니다.
+ *
+ * - thumb/{examCode}/small/{원본 key}.jpg : 가로 max-width 이하로 축소한 페이지
+ * - thumb/{examCode}/header/{원본 key}.jpg : 업로드 원본 상단(header-ratio)만 잘라낸 학번 영역
+ *   (header/ 아래 AI가 이미 잘라 둔 이미지는 축소만)
+ *
+ * 고정 크기 작업 큐 + workers개 스레드로만 처리하고, 큐가 가득 차면 버립니다. (검토 화면 조회 시 다시 요청됨)
+ * 원본은 S3에서 한 번만 읽어 subsampling 디코딩하고, 그 이미지 하나에서 축소본과 헤더 크롭을 함께 만듭니다.
+ *
+ * 썸네일 key는 원본 key에서 결정되므로 S3에 있는 파생 객체가 기준입니다.
+ * 메모리에 없는 key는 축소본을 HEAD로 한 번 확인해 기억하고(없음은 missing-ttl 동안만 기억),
+ * 아직 없는 썸네일은 조회 시 원본 URL로 대체합니다. 재시작 후에도 이미 만든 썸네일을 다시 만들지 않습니다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ThumbnailService {
+
+    private static final String THUMB_PREFIX = "thumb";
+
+    private final S3Client s3Client;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${aws.s3.bucket}")
+    private String bucket;
+
+    @Value("${thumbnail.enabled:true}")
+    private boolean enabled;
+
+    @Value("${thumbnail.workers:2}")
+    private int workers;
+
+    @Value("${thumbnail.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${thumbnail.max-width:480}")
+    private int maxWidth;
+
+    @Value("${thumbnail.header-width:800}")
+    private int headerWidth;
+
+    // 업로드 원본에서 학번 영역으로 잘라낼 상단 비율
+    @Value("${thumbnail.header-ratio:0.2}")
+    private double headerRatio;
+
+    @Value("${thumbnail.jpeg-quality:0.75}")
+    private float jpegQuality;
+
+    // HEAD로 없다고 확인한 썸네일을 다시 확인하지 않는 시간 (그 사이 생성되면 바로 ready로 바뀜)
+    @Value("${thumbnail.missing-ttl-seconds:30}")
+    private long missingTtlSeconds;
+
+    // 이 시간 동안 조회/생성이 없는 시험의 ready 목록은 버림 (다시 필요하면 S3 HEAD로 채움)
+    @Value("${thumbnail.ready-expire-after-minutes:180}")
+    private long readyExpireAfterMinutes;
+
+    private ThreadPoolExecutor executor;
+
+    // 시험별 썸네일이 S3에 있는 원본 key / 대기·진행 중인 원본 key / 최근 HEAD에서 없었던 원본 key
+    private Cache<String, Set<String>> ready;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private Cache<String, Boolean> missing;
+
+    private Counter generated;
+    private Counter failed;
+    private Counter rejected;
+    private Timer renderTimer;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger seq = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "thumbnail-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        generated = meterRegistry.counter("thumbnail.generated");
+        failed = meterRegistry.counter("thumbnail.failed");
+        rejected = meterRegistry.counter("thumbnail.rejected");
+        renderTimer = Timer.builder("thumbnail.render").publishPercentileHistogram().register(meterRegistry);
+        ready = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(readyExpireAfterMinutes))
+                .build();
+        missing = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(missingTtlSeconds))
+                .maximumSize(100_000)
+                .build();
+        Gauge.builder("thumbnail.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 원본 key의 썸네일 생성을 예약합니다. 이미 있거나 진행 중이면 무시합니다.
+     * (S3 확인은 작업 스레드에서 하므로 호출 스레드를 막지 않음)
+     */
+    public void submit(String examCode, String sourceKey) {
+        if (!enabled || sourceKey == null || sourceKey.isEmpty())
+            return;
+        String code = normalize(examCode);
+        if (isKnownReady(code, sourceKey) || !inFlight.add(code + "|" + sourceKey))
+            return;
+        try {
+            executor.execute(() -> {
+                try {
+                    if (!isReady(code, sourceKey))
+                        generate(code, sourceKey);
+                } finally {
+                    inFlight.remove(code + "|" + sourceKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(code + "|" + sourceKey);
+            rejected.increment();
+            log.debug("⚠️ Thumbnail queue full, skipped {}", sourceKey);
+        }
+    }
+
+    /**
+     * 생성된 축소 이미지 key (없으면 empty, 처음 보는 key는 S3 HEAD로 한 번 확인)
+     */
+    public Optional<String> thumbnailKey(String examCode, String sourceKey) {
+        String code = normalize(examCode);
+        return isReady(code, sourceKey) ? Optional.of(derivativeKey(code, "small", sourceKey)) : Optional.empty();
+    }
+
+    /**
+     * 생성된 헤더 크롭 key (업로드 원본 페이지만, 없으면 empty)
+     */
+    public Optional<String> headerKey(String examCode, String sourceKey) {
+        String code = normalize(examCode);
+        return isReady(code, sourceKey) && needsHeaderCrop(sourceKey)
+                ? Optional.of(derivativeKey(code, "header", sourceKey))
+                : Optional.empty();
+    }
+
+    public void discard(String examCode) {
+        String code = normalize(examCode);
+        ready.invalidate(code);
+        inFlight.removeIf(k -> k.startsWith(code + "|"));
+        missing.asMap().keySet().removeIf(k -> k.startsWith(code + "|"));
+    }
+
+    public String prefix(String examCode) {
+        return String.format("%s/%s/", THUMB_PREFIX, normalize(examCode));
+    }
+
+    private void generate(String examCode, String sourceKey) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            boolean crop = needsHeaderCrop(sourceKey);
+            // 헤더 크롭이 필요하면 더 큰 쪽(header-width) 기준으로 한 번만 디코딩
+            BufferedImage page = decode(sourceKey, crop ? Math.max(maxWidth, headerWidth) : maxWidth);
+            if (page == null)
+                return;
+            // 헤더를 먼저 올리고 축소본을 마지막에 올림 → 축소본이 있으면 헤더도 있음 (HEAD는 축소본만 확인)
+            if (crop) {
+                int regionHeight = Math.max(1, (int) Math.round(page.getHeight() * Math.min(1.0, headerRatio)));
+                BufferedImage header = page.getSubimage(0, 0, page.getWidth(), regionHeight);
+                upload(derivativeKey(examCode, "header", sourceKey), encodeJpeg(scaleToWidth(header, headerWidth)));
+            }
+            upload(derivativeKey(examCode, "small", sourceKey), encodeJpeg(scaleToWidth(page, maxWidth)));
+            markReady(examCode, sourceKey);
+            generated.increment();
+        } catch (NoSuchKeyException e) {
+            // 아직 업로드되지 않았거나 삭제된 원본 → 다음 조회 때 다시 시도
+            log.debug("⚠️ Thumbnail source not found: {}", sourceKey);
+        } catch (Exception e) {
+            failed.increment();
+            log.warn("⚠️ Failed to create thumbnail for {}: {}", sourceKey, e.getMessage());
+        } finally {
+            sample.stop(renderTimer);
+        }
+    }
+
+    /**
+     * S3 스트림에서 원본을 한 번 읽어 targetWidth에 맞는 subsampling으로 디코딩합니다.
+     * @return 디코딩된 이미지, 읽을 수 없는 형식이면 null
+     */
+    private BufferedImage decode(String sourceKey, int targetWidth) throws IOException {
+        try (ResponseInputStream<GetObjectResponse> in = s3Client.getObject(b -> b.bucket(bucket).key(sourceKey));
+                ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                log.warn("⚠️ Unsupported image format for thumbnail: {}", sourceKey);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int width = reader.getWidth(0);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                // 목표 폭의 2배 이상일 때만 건너뛰며 읽음 → 나머지는 scaleToWidth에서 보간 축소
+                int step = Math.max(1, width / (targetWidth * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scaleToWidth(BufferedImage src, int targetWidth) {
+        int width = Math.min(targetWidth, src.getWidth());
+        int height = Math.max(1, (int) Math.round((double) src.getHeight() * width / src.getWidth()));
+        // JPEG는 알파 채널이 없으므로 RGB로 그림 (PNG 투명 영역은 흰색)
+        BufferedImage dst = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = dst.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(java.awt.Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(src, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return dst;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private void upload(String key, byte[] bytes) {
+        s3Client.putObject(PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType("image/jpeg")
+                .cacheControl("private, max-age=86400")
+                .build(), RequestBody.fromBytes(bytes));
+    }
+
+    private boolean isKnownReady(String examCode, String sourceKey) {
+        Set<String> keys = ready.getIfPresent(examCode);
+        return keys != null && keys.contains(sourceKey);
+    }
+
+    // 메모리에 없으면 S3의 축소본을 HEAD로 한 번 확인 (없음은 missing-ttl 동안 기억)
+    private boolean isReady(String examCode, String sourceKey) {
+        if (isKnownReady(examCode, sourceKey))
+            return true;
+        String id = examCode + "|" + sourceKey;
+        if (missing.getIfPresent(id) != null)
+            return false;
+        try {
+            s3Client.headObject(b -> b.bucket(bucket).key(derivativeKey(examCode, "small", sourceKey)));
+            markReady(examCode, sourceKey);
+            return true;
+        } catch (NoSuchKeyException e) {
+            missing.put(id, Boolean.TRUE);
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404)
+                missing.put(id, Boolean.TRUE);
+            else
+                log.debug("⚠️ Thumbnail HEAD failed for {}: {}", sourceKey, e.getMessage());
+            return false;
+        }
+    }
+
+    private void markReady(String examCode, String sourceKey) {
+        ready.get(examCode, k -> ConcurrentHashMap.newKeySet()).add(sourceKey);
+        missing.invalidate(examCode + "|" + sourceKey);
+    }
+
+    // header/ 아래 이미지는 이미 학번 영역만 잘라 둔 것
+    private static boolean needsHeaderCrop(String sourceKey) {
+        return !sourceKey.startsWith("header/");
+    }
+
+    // 원본 파일명을 유지한 채 확장자만 .jpg로 (검토 화면이 파일명으로 초안을 매칭)
+    private static String derivativeKey(String examCode, String kind, String sourceKey) {
+        int slash = sourceKey.lastIndexOf('/');
+        int dot = sourceKey.lastIndexOf('.');
+        String base = dot > slash ? sourceKey.substring(0, dot) : sourceKey;
+        return String.format("%s/%s/%s/%s.jpg", THUMB_PREFIX, examCode, kind, base);
+    }
+
+    private static String normalize(String examCode) {
+        return examCode != null ? examCode.trim().toUpperCase() : "";
+    }
+}
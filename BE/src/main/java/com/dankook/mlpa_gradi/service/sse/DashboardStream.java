@@ -0,0 +1,164 @@
+package com.dankook.mlpa_gradi.service.sse;
+
+import com.dankook.mlpa_gradi.dto.ProgressSnapshot;
+import com.dankook.mlpa_gradi.service.backpressure.SinkBacklog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * ✅ 관리자 대시보드용 멀티플렉스 SSE 스트림
+ * /active-processes 폴링 대신 연결 하나로 모든 시험의 진행 상태 변경을 받습니다.
+ *
+ * - 최초 연결: dashboard_snapshot (현재 진행 중인 모든 시험)
+ * - 이후: dashboard_delta, 변경된 시험만 examCode를 키로 묶어서 flush-ms 간격으로 전송
+ *   { "changed": { "EXAM01": {...}, ... }, "removed": [ "EXAM02" ] }
+ * 스냅샷의 version으로 클라이언트가 오래된 delta를 무시할 수 있습니다.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class DashboardStream {
+
+    public static final String SNAPSHOT_EVENT = "dashboard_snapshot";
+    public static final String DELTA_EVENT = "dashboard_delta";
+    private static final String DASHBOARD_KEY = "*dashboard*";
+    private static final String INIT_PADDING = "init" + " ".repeat(4096);
+    private static final String EVENT_PADDING = " ".repeat(1024);
+
+    private final ObjectMapper objectMapper;
+    private final HeartbeatWheel heartbeatWheel;
+    private final SinkBacklog sinkBacklog;
+
+    private final Set<SseSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // 마지막 flush 이후 변경된 시험 (시험별 최신 스냅샷만 유지)
+    private final Map<String, ProgressSnapshot> changed = new ConcurrentHashMap<>();
+    private final Set<String> removed = ConcurrentHashMap.newKeySet();
+    // 초기 스냅샷 전송과 delta fan-out 순서를 맞추기 위한 락
+    private final Object lock = new Object();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "sse-dashboard-flush");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Executor dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${sse.dashboard.flush-ms:500}")
+    private long flushMs;
+
+    @Value("${sse.subscriber.queue-capacity:256}")
+    private int subscriberQueueCapacity;
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleAtFixedRate(this::safeFlush, flushMs, flushMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 대시보드 구독 시작. 현재 상태 전체를 먼저 보내고 이후 delta만 전송합니다.
+     */
+    public SseEmitter connect(Supplier<Collection<ProgressSnapshot>> current) {
+        SseEmitter emitter = new SseEmitter(3600_000L);
+        SseSubscriber subscriber = new SseSubscriber(DASHBOARD_KEY, emitter, subscriberQueueCapacity, dispatcher,
+                sinkBacklog, subscribers::remove);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError((e) -> subscriber.close());
+
+        try {
+            Map<String, ProgressSnapshot> all = new HashMap<>();
+            synchronized (lock) {
+                // 먼저 등록해야 스냅샷을 읽는 사이의 변경도 다음 delta에 포함됨
+                subscribers.add(subscriber);
+                subscriber.offer(SseFrame.comment(INIT_PADDING));
+                current.get().forEach(s -> all.put(s.examCode(), s));
+                subscriber.offer(toFrame(SNAPSHOT_EVENT, all));
+            }
+            heartbeatWheel.register(subscriber);
+            log.info("📊 [DashboardStream] Dashboard connected ({} exams, {} dashboards)", all.size(),
+                    subscribers.size());
+        } catch (Exception e) {
+            log.error("❌ [DashboardStream] Failed to send initial dashboard snapshot: {}", e.getMessage());
+            subscriber.close();
+        }
+        return emitter;
+    }
+
+    public void onProgress(ProgressSnapshot snapshot) {
+        // 보는 대시보드가 없으면 변경을 모을 필요 없음
+        if (subscribers.isEmpty())
+            return;
+        changed.merge(snapshot.examCode(), snapshot,
+                (prev, next) -> next.compareOrder(prev) >= 0 ? next : prev);
+        removed.remove(snapshot.examCode());
+    }
+
+    public void onRemoved(String examCode) {
+        if (subscribers.isEmpty())
+            return;
+        changed.remove(examCode);
+        removed.add(examCode);
+    }
+
+    private void safeFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("⚠️ [DashboardStream] Flush failed: {}", e.getMessage());
+        }
+    }
+
+    private void flush() throws Exception {
+        if (changed.isEmpty() && removed.isEmpty())
+            return;
+
+        Map<String, ProgressSnapshot> changedNow = new HashMap<>();
+        for (String code : new ArrayList<>(changed.keySet())) {
+            ProgressSnapshot s = changed.remove(code);
+            if (s != null)
+                changedNow.put(code, s);
+        }
+        List<String> removedNow = new ArrayList<>();
+        for (String code : new ArrayList<>(removed)) {
+            if (removed.remove(code))
+                removedNow.add(code);
+        }
+        if (changedNow.isEmpty() && removedNow.isEmpty())
+            return;
+
+        SseFrame frame = toFrame(DELTA_EVENT, Map.of("changed", changedNow, "removed", removedNow));
+        synchronized (lock) {
+            subscribers.forEach(sub -> sub.offer(frame));
+        }
+    }
+
+    private SseFrame toFrame(String eventName, Object data) throws Exception {
+        String json = objectMapper.writeValueAsString(Map.of("type", eventName, "data", data));
+        return SseFrame.data(eventName, json, EVENT_PADDING);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        subscribers.forEach(SseSubscriber::close);
+    }
+}
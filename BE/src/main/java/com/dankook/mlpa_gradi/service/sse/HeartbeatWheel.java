@@ -0,0 +1,176 @@
+package com.dankook.mlpa_gradi.service.sse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ✅ Hashed timer wheel 기반 SSE heartbeat 스케줄러
+ * 기존 heartbeat()는 5초마다 모든 세션을 훑으며 emitter에 직접 write 해서,
+ * 소켓 하나가 멈추면 나머지 모두의 heartbeat가 밀렸습니다.
+ *
+ * 여기서는 구독자마다 다음 heartbeat 시각을 휠 슬롯에 걸어두고, 틱마다 해당 슬롯만 확인합니다.
+ * 인터벌 동안 다른 이벤트가 나가지 않은(idle) 구독자에게만 heartbeat 프레임을 큐잉하며,
+ * 실제 write는 구독자 dispatcher에서 수행되므로 휠 스레드는 절대 블로킹되지 않습니다.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class HeartbeatWheel {
+
+    private static final SseFrame HEARTBEAT = SseFrame.comment("heartbeat" + " ".repeat(512));
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${sse.heartbeat.interval-ms:5000}")
+    private long intervalMs;
+
+    @Value("${sse.heartbeat.tick-ms:250}")
+    private long tickMs;
+
+    @Value("${sse.heartbeat.wheel-size:64}")
+    private int wheelSize;
+
+    private Queue<Entry>[] wheel;
+    // 다른 스레드의 등록 요청은 여기 쌓였다가 휠 스레드가 틱마다 슬롯으로 옮김
+    private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger registered = new AtomicInteger();
+    private long tick = 0;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "sse-heartbeat-wheel");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private Counter checkedCounter;
+    private Counter sentCounter;
+    // 초당 처리량 (1초 단위로 갱신되는 gauge)
+    private volatile double checkedPerSecond;
+    private volatile double sentPerSecond;
+    private long checkedInWindow;
+    private long sentInWindow;
+    private long windowStart = System.currentTimeMillis();
+
+    private static class Entry {
+        final SseSubscriber subscriber;
+        long rounds;
+
+        Entry(SseSubscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+    }
+
+    @PostConstruct
+    @SuppressWarnings("unchecked")
+    public void start() {
+        wheel = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+
+        checkedCounter = Counter.builder("sse.heartbeat.checks")
+                .description("Subscribers examined by the heartbeat wheel")
+                .register(meterRegistry);
+        sentCounter = Counter.builder("sse.heartbeat.sent")
+                .description("Heartbeat frames queued to idle subscribers")
+                .register(meterRegistry);
+        Gauge.builder("sse.heartbeat.checks.per-second", () -> checkedPerSecond).register(meterRegistry);
+        Gauge.builder("sse.heartbeat.sent.per-second", () -> sentPerSecond).register(meterRegistry);
+        Gauge.builder("sse.heartbeat.subscribers", registered::get).register(meterRegistry);
+
+        timer.scheduleAtFixedRate(this::safeTick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 구독자를 휠에 등록합니다. 첫 heartbeat는 인터벌 후에 확인합니다.
+     */
+    public void register(SseSubscriber subscriber) {
+        pending.add(new Entry(subscriber));
+        registered.incrementAndGet();
+    }
+
+    private void safeTick() {
+        try {
+            tick();
+        } catch (Exception e) {
+            log.warn("⚠️ [HeartbeatWheel] Tick failed: {}", e.getMessage());
+        }
+    }
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+        Entry added;
+        while ((added = pending.poll()) != null) {
+            schedule(added, intervalMs);
+        }
+
+        Queue<Entry> slot = wheel[(int) (tick % wheelSize)];
+        int size = slot.size();
+        for (int i = 0; i < size; i++) {
+            Entry e = slot.poll();
+            if (e.rounds > 0) {
+                e.rounds--;
+                slot.add(e);
+                continue;
+            }
+            checkedInWindow++;
+            checkedCounter.increment();
+
+            SseSubscriber sub = e.subscriber;
+            if (sub.isClosed()) {
+                registered.decrementAndGet();
+                continue;
+            }
+
+            long idle = now - sub.getLastWriteAt();
+            if (idle >= intervalMs) {
+                // write는 구독자 dispatcher에서 수행 (큐잉만)
+                if (sub.offer(HEARTBEAT)) {
+                    sentInWindow++;
+                    sentCounter.increment();
+                }
+                schedule(e, intervalMs);
+            } else {
+                // 최근에 이벤트가 나갔으면 마지막 write 기준으로 다음 확인 시각을 잡음
+                schedule(e, intervalMs - idle);
+            }
+        }
+        tick++;
+
+        if (now - windowStart >= 1000) {
+            double seconds = (now - windowStart) / 1000.0;
+            checkedPerSecond = checkedInWindow / seconds;
+            sentPerSecond = sentInWindow / seconds;
+            checkedInWindow = 0;
+            sentInWindow = 0;
+            windowStart = now;
+        }
+    }
+
+    // 휠 스레드에서만 호출
+    private void schedule(Entry e, long delayMs) {
+        long ticks = Math.max(1, (delayMs + tickMs - 1) / tickMs);
+        e.rounds = (ticks - 1) / wheelSize;
+        wheel[(int) ((tick + ticks) % wheelSize)].add(e);
+    }
+
+    @PreDestroy
+    public void stop() {
+        timer.shutdownNow();
+    }
+}
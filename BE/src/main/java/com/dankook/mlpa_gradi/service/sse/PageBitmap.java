@@ -0,0 +1,68 @@
+package com.dankook.mlpa_gradi.service.sse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * ✅ 업로드 인덱스(페이지 번호) 단위의 lock-free 처리 여부 비트맵
+ * 파일명 문자열을 세션 내내 들고 있는 대신 페이지당 1비트만 사용합니다.
+ * 세그먼트(65,536 페이지 단위)는 필요할 때 CAS로 생성되므로 작은 시험은 8KB 한 덩어리면 충분합니다.
+ */
+public class PageBitmap {
+
+    private static final int WORDS_PER_SEGMENT = 1024; // 1024 * 64 = 65,536 bits
+    private static final int BITS_PER_SEGMENT = WORDS_PER_SEGMENT * 64;
+    private static final int MAX_SEGMENTS = 64;
+    public static final int CAPACITY = BITS_PER_SEGMENT * MAX_SEGMENTS; // 최대 약 4M 페이지
+
+    private final AtomicReferenceArray<AtomicLongArray> segments = new AtomicReferenceArray<>(MAX_SEGMENTS);
+    private final AtomicInteger cardinality = new AtomicInteger();
+
+    /**
+     * 해당 페이지를 처리됨으로 표시합니다.
+     * @return 이번 호출로 새로 표시되었으면 true, 이미 처리된 페이지(중복)면 false
+     */
+    public boolean mark(int pageIndex) {
+        if (pageIndex < 0 || pageIndex >= CAPACITY)
+            throw new IllegalArgumentException("Page index out of range: " + pageIndex);
+
+        AtomicLongArray words = segment(pageIndex / BITS_PER_SEGMENT);
+        int bit = pageIndex % BITS_PER_SEGMENT;
+        int wordIndex = bit >>> 6;
+        long mask = 1L << (bit & 63);
+
+        long current;
+        do {
+            current = words.get(wordIndex);
+            if ((current & mask) != 0)
+                return false;
+        } while (!words.compareAndSet(wordIndex, current, current | mask));
+
+        cardinality.incrementAndGet();
+        return true;
+    }
+
+    public boolean isMarked(int pageIndex) {
+        if (pageIndex < 0 || pageIndex >= CAPACITY)
+            return false;
+        AtomicLongArray words = segments.get(pageIndex / BITS_PER_SEGMENT);
+        if (words == null)
+            return false;
+        int bit = pageIndex % BITS_PER_SEGMENT;
+        return (words.get(bit >>> 6) & (1L << (bit & 63))) != 0;
+    }
+
+    public int cardinality() {
+        return cardinality.get();
+    }
+
+    private AtomicLongArray segment(int segmentIndex) {
+        AtomicLongArray words = segments.get(segmentIndex);
+        if (words == null) {
+            segments.compareAndSet(segmentIndex, null, new AtomicLongArray(WORDS_PER_SEGMENT));
+            words = segments.get(segmentIndex);
+        }
+        return words;
+    }
+}
@@ -0,0 +1,122 @@
+package com.dankook.mlpa_gradi.service.sse;
+
+import com.dankook.mlpa_gradi.service.SseService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ 시험별 진행률 이벤트 병합(coalescing) 단계
+ * 대량 스캔(수백 페이지)이 몰려 들어올 때 페이지마다 SSE를 보내지 않고,
+ * 설정된 윈도우(기본 200ms) 동안 들어온 진행률을 하나의 delta 이벤트로 합쳐 보냅니다.
+ * (최신 index/total/status + 윈도우 동안 새로 처리된 파일명 목록)
+ *
+ * 완료(completed) 상태는 윈도우를 기다리지 않고 즉시 내보내며,
+ * 에러/폴백 같은 개별 이벤트는 이 단계를 거치지 않습니다.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ProgressCoalescer {
+
+    public static final String EVENT_NAME = "recognition_update";
+
+    private final SseService sseService;
+
+    private final Map<String, PendingProgress> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "sse-progress-coalescer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Value("${sse.progress.coalesce-window-ms:200}")
+    private long windowMs;
+
+    private static class PendingProgress {
+        int index;
+        int total;
+        String status;
+        final List<String> filenames = new ArrayList<>();
+        final List<String> presignedUrls = new ArrayList<>();
+    }
+
+    /**
+     * 진행률 갱신 한 건을 현재 윈도우에 병합합니다.
+     */
+    public void submit(String examCode, int index, int total, String status, String filename,
+            List<String> presignedUrls) {
+        submit(examCode, index, total, status, filename != null ? List.of(filename) : List.of(), presignedUrls);
+    }
+
+    /**
+     * 여러 페이지의 진행률을 한 번에 병합합니다. (배치 리스너에서 시험별로 모은 결과)
+     */
+    public void submit(String examCode, int index, int total, String status, List<String> filenames,
+            List<String> presignedUrls) {
+        boolean[] firstInWindow = { false };
+        PendingProgress merged = pending.compute(examCode, (code, p) -> {
+            if (p == null) {
+                p = new PendingProgress();
+                firstInWindow[0] = true;
+            }
+            // 순서가 뒤바뀌어 도착해도 진행률이 뒤로 가지 않게 최대값 유지
+            p.index = Math.max(p.index, index);
+            p.total = total;
+            p.status = status;
+            p.filenames.addAll(filenames);
+            if (presignedUrls != null)
+                p.presignedUrls.addAll(presignedUrls);
+            return p;
+        });
+
+        if (windowMs <= 0 || "completed".equals(merged.status)) {
+            flush(examCode);
+        } else if (firstInWindow[0]) {
+            scheduler.schedule(() -> flush(examCode), windowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 대기 중인 진행률을 즉시 내보냅니다. (없으면 아무 것도 하지 않음)
+     * 개별 이벤트를 보내기 전에 호출하면 진행률 → 이벤트 순서가 유지됩니다.
+     */
+    public void flush(String examCode) {
+        PendingProgress p = pending.remove(examCode);
+        if (p == null)
+            return;
+
+        Map<String, Object> delta = new HashMap<>();
+        delta.put("examCode", examCode);
+        delta.put("index", p.index);
+        delta.put("total", p.total);
+        delta.put("status", p.status);
+        delta.put("count", p.filenames.size());
+        delta.put("filenames", p.filenames);
+        if (!p.presignedUrls.isEmpty())
+            delta.put("presignedUrls", p.presignedUrls);
+
+        try {
+            sseService.sendEvent(examCode, EVENT_NAME, delta);
+        } catch (Exception e) {
+            log.warn("⚠️ [ProgressCoalescer] Failed to flush progress for {}: {}", examCode, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        new ArrayList<>(pending.keySet()).forEach(this::flush);
+        scheduler.shutdownNow();
+    }
+}
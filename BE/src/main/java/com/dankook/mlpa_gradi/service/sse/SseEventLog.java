@@ -0,0 +1,67 @@
+package com.dankook.mlpa_gradi.service.sse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ✅ 시험별 SSE 이벤트 리플레이 로그 (고정 크기 링 버퍼)
+ * 이벤트마다 단조 증가하는 ID를 부여하고, 재연결한 클라이언트가 보낸 Last-Event-ID 이후의
+ * 이벤트만 다시 보내줍니다. 버퍼에서 이미 밀려난 구간을 요청하면 null을 반환하여
+ * 호출 측이 전체 재조회(resync)를 안내하도록 합니다.
+ *
+ * append와 구독자 등록(replay)은 같은 락 안에서 수행해야 이벤트 누락/중복이 없으므로
+ * SseService는 이 객체를 모니터로 사용합니다.
+ */
+public class SseEventLog {
+
+    private final SseFrame[] ring;
+    private long lastId = 0;
+    private int size = 0;
+
+    public SseEventLog(int capacity) {
+        this.ring = new SseFrame[Math.max(1, capacity)];
+    }
+
+    /**
+     * 프레임에 다음 이벤트 ID를 부여해 기록하고, ID가 붙은 프레임을 반환합니다.
+     */
+    public synchronized SseFrame append(SseFrame frame) {
+        SseFrame stamped = frame.withId(++lastId);
+        ring[(int) (lastId % ring.length)] = stamped;
+        if (size < ring.length)
+            size++;
+        return stamped;
+    }
+
+    /**
+     * lastEventId 이후의 이벤트 목록. 필요한 구간이 이미 버퍼에서 밀려났다면 null.
+     * 세션이 다시 만들어지면 ID가 1부터 다시 시작하므로, 현재 마지막 ID보다 큰 ID(이전 세션의 ID)도 null.
+     */
+    public synchronized List<SseFrame> since(long lastEventId) {
+        if (lastEventId > lastId)
+            return null;
+        if (lastEventId == lastId)
+            return List.of();
+        long oldest = lastId - size + 1;
+        if (lastEventId + 1 < oldest)
+            return null;
+        List<SseFrame> missed = new ArrayList<>((int) (lastId - lastEventId));
+        for (long id = lastEventId + 1; id <= lastId; id++) {
+            missed.add(ring[(int) (id % ring.length)]);
+        }
+        return missed;
+    }
+
+    public synchronized long lastId() {
+        return lastId;
+    }
+
+    /**
+     * 새 채점으로 세션이 리셋될 때 기록만 비움. ID는 계속 증가시켜 이전 ID와 겹치지 않게 합니다.
+     */
+    public synchronized void clear() {
+        Arrays.fill(ring, null);
+        size = 0;
+    }
+}
@@ -0,0 +1,54 @@
+package com.dankook.mlpa_gradi.service.sse;
+
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * ✅ 구독자 큐에 쌓이는 불변 SSE 프레임
+ * SseEventBuilder는 build() 시 내부 상태가 바뀌므로 여러 emitter에 공유할 수 없어,
+ * 직렬화된 JSON만 한 번 만들어 두고 전송 시점에 구독자별 builder를 생성합니다.
+ */
+public record SseFrame(Long id, String type, String data, String comment) {
+
+    // 최신 값만 의미가 있어 느린 구독자에게는 버려도 되는 진행률 이벤트 타입
+    private static final String PROGRESS_TYPE = "recognition_update";
+
+    public static SseFrame data(String type, String json, String padding) {
+        return new SseFrame(null, type, json, padding);
+    }
+
+    public static SseFrame comment(String comment) {
+        return new SseFrame(null, null, null, comment);
+    }
+
+    // 리플레이 로그에 기록될 때 이벤트 ID를 부여
+    public SseFrame withId(long eventId) {
+        return new SseFrame(eventId, type, data, comment);
+    }
+
+    public boolean isProgress() {
+        return PROGRESS_TYPE.equals(type);
+    }
+
+    public SseEmitter.SseEventBuilder toEvent() {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event();
+        if (id != null)
+            builder.id(String.valueOf(id));
+        if (data != null)
+            builder.data(data);
+        if (comment != null)
+            builder.comment(comment);
+        return builder;
+    }
+
+    public ServerSentEvent<String> toServerSentEvent() {
+        ServerSentEvent.Builder<String> builder = ServerSentEvent.builder();
+        if (id != null)
+            builder.id(String.valueOf(id));
+        if (data != null)
+            builder.data(data);
+        if (comment != null)
+            builder.comment(comment);
+        return builder.build();
+    }
+}
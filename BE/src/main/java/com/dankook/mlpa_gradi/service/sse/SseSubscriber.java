@@ -0,0 +1,134 @@
+package com.dankook.mlpa_gradi.service.sse;
+
+import com.dankook.mlpa_gradi.service.backpressure.SinkBacklog;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * ✅ 시험 하나를 구독하는 브라우저 탭(emitter) 하나
+ * 구독자마다 bounded 큐를 두고, 공용 dispatcher에서 큐를 비우며 실제 I/O를 수행합니다.
+ * Kafka 리스너 스레드는 offer()로 큐에 넣기만 하므로 느린 브라우저에 막히지 않습니다.
+ * 큐가 가득 차면(느린 구독자) 연결을 끊고, 브라우저의 EventSource 재연결에 맡깁니다.
+ */
+@Slf4j
+public class SseSubscriber {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    @Getter
+    private final long id = SEQUENCE.incrementAndGet();
+    @Getter
+    private final String examCode;
+    @Getter
+    private final SseEmitter emitter;
+    // 마지막으로 프레임을 실제로 써 보낸 시각 (heartbeat idle 판단용)
+    @Getter
+    private volatile long lastWriteAt = System.currentTimeMillis();
+
+    private final BlockingQueue<SseFrame> queue;
+    private final Executor dispatcher;
+    private final Consumer<SseSubscriber> onClose;
+    // 큐에 쌓인 프레임 수를 backlog에 따로 반영 (기본은 리스너 backpressure 판단에서 제외)
+    private final SinkBacklog backlog;
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    public SseSubscriber(String examCode, SseEmitter emitter, int queueCapacity, Executor dispatcher,
+            SinkBacklog backlog, Consumer<SseSubscriber> onClose) {
+        this.examCode = examCode;
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.dispatcher = dispatcher;
+        this.backlog = backlog;
+        this.onClose = onClose;
+    }
+
+    /**
+     * 프레임을 큐에 넣고 즉시 반환합니다. (non-blocking)
+     * @return 큐잉 성공 여부 (false면 이미 닫혔거나 큐가 넘쳐 구독이 해제됨)
+     */
+    public boolean offer(SseFrame frame) {
+        if (closed.get())
+            return false;
+        if (!queue.offer(frame)) {
+            log.warn("🐢 [SseSubscriber] Queue full, dropping slow subscriber #{} of {}", id, examCode);
+            close();
+            return false;
+        }
+        backlog.addSse(1);
+        // offer 도중 close()가 끝났다면 방금 넣은 프레임도 비워서 backlog가 새지 않게 함
+        if (closed.get()) {
+            discardQueued();
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                close();
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            SseFrame frame;
+            while (!closed.get() && (frame = queue.poll()) != null) {
+                backlog.removeSse(1);
+                emitter.send(frame.toEvent());
+                lastWriteAt = System.currentTimeMillis();
+            }
+        } catch (Exception e) {
+            log.debug("🔌 [SseSubscriber] Write failed for #{} of {}: {}", id, examCode, e.getMessage());
+            close();
+        } finally {
+            draining.set(false);
+        }
+        // drain 종료 직후 offer된 프레임이 있으면 다시 스케줄
+        if (!closed.get() && !queue.isEmpty())
+            scheduleDrain();
+    }
+
+    /**
+     * 구독 해제 (중복 호출 안전). emitter를 완료시키고 레지스트리에서 제거합니다.
+     */
+    public void close() {
+        if (!closed.compareAndSet(false, true))
+            return;
+        discardQueued();
+        try {
+            emitter.complete();
+        } catch (Exception ignored) {
+        }
+        onClose.accept(this);
+    }
+
+    private void discardQueued() {
+        while (queue.poll() != null) {
+            backlog.removeSse(1);
+        }
+    }
+}
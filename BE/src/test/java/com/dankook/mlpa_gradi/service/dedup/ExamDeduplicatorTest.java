@@ -0,0 +1,101 @@
+package com.dankook.mlpa_gradi.service.dedup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 시험 단위 중복 제거: 키당 한 번만 통과, 채점 완료 해제는 epoch당 한 번, release()와 경합해도 gauge가 새지 않음
+ */
+class ExamDeduplicatorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExamDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        deduplicator = new ExamDeduplicator(meterRegistry);
+        ReflectionTestUtils.setField(deduplicator, "expireAfterMinutes", 60L);
+        ReflectionTestUtils.setField(deduplicator, "maxKeysPerExam", 1000L);
+        deduplicator.registerMetrics();
+    }
+
+    @Test
+    void firstSeenReturnsTrueOncePerKey() {
+        assertTrue(deduplicator.firstSeen("EXAM01", "s3:a.jpg"));
+        assertFalse(deduplicator.firstSeen("EXAM01", "s3:a.jpg"));
+        // 시험이 다르면 별개
+        assertTrue(deduplicator.firstSeen("EXAM02", "s3:a.jpg"));
+        assertEquals(2.0, entries());
+    }
+
+    @Test
+    void releaseCompletedIsIdempotentPerEpoch() {
+        deduplicator.firstSeen("EXAM01", "s3:a.jpg");
+
+        deduplicator.releaseCompleted("EXAM01", 1);
+        assertEquals(0.0, entries());
+        assertTrue(deduplicator.firstSeen("EXAM01", "s3:a.jpg"));
+
+        // 같은 epoch의 완료 레코드가 또 와도 다시 해제하지 않음
+        deduplicator.releaseCompleted("EXAM01", 1);
+        assertFalse(deduplicator.firstSeen("EXAM01", "s3:a.jpg"));
+
+        // 새 채점(epoch 증가)의 완료는 다시 해제
+        deduplicator.releaseCompleted("EXAM01", 2);
+        assertTrue(deduplicator.firstSeen("EXAM01", "s3:a.jpg"));
+    }
+
+    @Test
+    void releaseResetsCompletedMarker() {
+        deduplicator.releaseCompleted("EXAM01", 1);
+        deduplicator.release("EXAM01");
+        deduplicator.firstSeen("EXAM01", "s3:a.jpg");
+
+        deduplicator.releaseCompleted("EXAM01", 1);
+        assertTrue(deduplicator.firstSeen("EXAM01", "s3:a.jpg"));
+    }
+
+    @Test
+    void concurrentReleaseDoesNotLeakEntries() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 5000; i++)
+                        deduplicator.firstSeen("EXAM01", "s3:" + thread + "_" + i);
+                }));
+            }
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 2000; i++)
+                    deduplicator.release("EXAM01");
+            }));
+            for (Future<?> f : futures)
+                f.get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        deduplicator.release("EXAM01");
+        assertEquals(0.0, entries());
+        assertEquals(0L, deduplicator.estimatedBytes());
+    }
+
+    private double entries() {
+        return meterRegistry.get("dedup.entries").gauge().value();
+    }
+}
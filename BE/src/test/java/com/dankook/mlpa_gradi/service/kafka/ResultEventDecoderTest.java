@@ -0,0 +1,118 @@
+package com.dankook.mlpa_gradi.service.kafka;
+
+import com.dankook.mlpa_gradi.dto.event.AnswerFallbackEvent;
+import com.dankook.mlpa_gradi.dto.event.AnswerResultEvent;
+import com.dankook.mlpa_gradi.dto.event.ErrorEvent;
+import com.dankook.mlpa_gradi.dto.event.RecognitionEvent;
+import com.dankook.mlpa_gradi.dto.event.ResultEvent;
+import com.dankook.mlpa_gradi.dto.event.UnknownEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 결과 토픽 메시지 디코딩: camelCase/snake_case 별칭, 이벤트 종류별 분기, 깨진 메시지 처리
+ */
+class ResultEventDecoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ResultEventDecoder decoder = new ResultEventDecoder(objectMapper);
+
+    @Test
+    void decodesRecognitionWithSnakeCaseKeys() throws Exception {
+        ResultEvent event = decoder.decode("""
+                {"event_type":"STUDENT_ID_RECOGNITION","exam_code":"AI2024MID","student_id":"32201234",
+                 "filename":"0042_scan.jpg","s3_key":"uploads/AI2024MID/0042_scan.jpg","upload_index":"42",
+                 "total":180,"bbox":{"x":1,"y":2},"status":"processing"}""");
+
+        RecognitionEvent r = assertInstanceOf(RecognitionEvent.class, event);
+        assertEquals("AI2024MID", r.examCode());
+        assertEquals("32201234", r.studentId());
+        assertEquals("uploads/AI2024MID/0042_scan.jpg", r.s3Key());
+        assertEquals(42, r.uploadIndex());
+        assertEquals(180, r.total());
+        assertEquals("processing", r.status());
+    }
+
+    @Test
+    void defaultsToStudentIdRecognitionWhenTypeIsMissing() throws Exception {
+        ResultEvent event = decoder.decode("{\"examCode\":\"AI2024MID\",\"studentId\":\"1\",\"total\":\"3.0\"}");
+
+        RecognitionEvent r = assertInstanceOf(RecognitionEvent.class, event);
+        assertEquals("STUDENT_ID_RECOGNITION", r.eventType());
+        assertEquals(3, r.total());
+        assertEquals("processing", r.status());
+        assertNull(r.uploadIndex());
+    }
+
+    @Test
+    void answerResultCarriesPayloadEqualToFullParse() throws Exception {
+        String json = """
+                {"eventType":"ANSWER_RECOGNITION_RESULT","examCode":"AI2024MID","studentId":32201234,
+                 "answers":[{"questionNum":1,"rawAnswer":"3"}],"pageCount":4}""";
+
+        AnswerResultEvent r = assertInstanceOf(AnswerResultEvent.class, decoder.decode(json));
+
+        assertEquals("AI2024MID", r.examCode());
+        assertEquals("32201234", r.studentId());
+        assertEquals(json, r.rawJson());
+        assertEquals(objectMapper.readValue(json, Map.class), r.payload());
+        assertEquals(List.of(Map.of("questionNum", 1, "rawAnswer", "3")), r.payload().get("answers"));
+    }
+
+    @Test
+    void answerResultWithTypeAfterOtherFieldsStillHasPayload() throws Exception {
+        String json = "{\"exam_code\":\"AI2024MID\",\"answers\":[],\"event_type\":\"ANSWER_RECOGNITION_RESULT\","
+                + "\"student_id\":\"7\"}";
+
+        AnswerResultEvent r = assertInstanceOf(AnswerResultEvent.class, decoder.decode(json));
+
+        assertEquals("7", r.studentId());
+        assertEquals(objectMapper.readValue(json, Map.class), r.payload());
+    }
+
+    @Test
+    void answerResultWithoutStudentIdIsADecodeFailure() {
+        assertThrows(JsonProcessingException.class, () -> decoder
+                .decode("{\"eventType\":\"ANSWER_RECOGNITION_RESULT\",\"examCode\":\"AI2024MID\",\"answers\":[]}"));
+    }
+
+    @Test
+    void decodesFallbackWithSnakeCaseQuestionNum() throws Exception {
+        String json = "{\"event_type\":\"ANSWER_FALLBACK\",\"exam_code\":\"AI2024MID\",\"question_num\":5,"
+                + "\"imageUrl\":\"https://example/q5.jpg\"}";
+
+        AnswerFallbackEvent f = assertInstanceOf(AnswerFallbackEvent.class, decoder.decode(json));
+
+        assertEquals("AI2024MID", f.examCode());
+        assertEquals("5", f.questionNum());
+        assertEquals("https://example/q5.jpg", f.payload().get("imageUrl"));
+    }
+
+    @Test
+    void decodesErrorAndUnknownTypes() throws Exception {
+        ErrorEvent error = assertInstanceOf(ErrorEvent.class,
+                decoder.decode("{\"eventType\":\"ERROR\",\"examCode\":\"AI2024MID\",\"message\":\"model down\"}"));
+        assertEquals("model down", error.message());
+
+        UnknownEvent unknown = assertInstanceOf(UnknownEvent.class,
+                decoder.decode("{\"eventType\":\"SOMETHING_NEW\",\"examCode\":\"AI2024MID\"}"));
+        assertEquals("SOMETHING_NEW", unknown.eventType());
+        assertEquals("AI2024MID", unknown.examCode());
+    }
+
+    @Test
+    void rejectsMalformedJson() {
+        assertThrows(IOException.class, () -> decoder.decode("[1,2,3]"));
+        assertThrows(JsonProcessingException.class, () -> decoder.decode("{\"examCode\":\"AI2024MID\","));
+    }
+}
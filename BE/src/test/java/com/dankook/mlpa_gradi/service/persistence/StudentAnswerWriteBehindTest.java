@@ -0,0 +1,180 @@
+package com.dankook.mlpa_gradi.service.persistence;
+
+import com.dankook.mlpa_gradi.service.backpressure.SinkBacklog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * write-behind 재시도: 일시적인 DB 오류 뒤에도 행이 사라지거나 중복되지 않고, max-attempts를 넘기면 포기
+ */
+class StudentAnswerWriteBehindTest {
+
+    private FakeStudentAnswerTable table;
+    private SimpleMeterRegistry meterRegistry;
+    private SinkBacklog sinkBacklog;
+    private StudentAnswerWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        table = new FakeStudentAnswerTable();
+        meterRegistry = new SimpleMeterRegistry();
+        sinkBacklog = new SinkBacklog(meterRegistry);
+        writeBehind = new StudentAnswerWriteBehind(table, mock(PlatformTransactionManager.class), sinkBacklog,
+                meterRegistry);
+        ReflectionTestUtils.setField(writeBehind, "batchSize", 200);
+        // 백그라운드 flush가 끼어들지 않도록 주기를 길게
+        ReflectionTestUtils.setField(writeBehind, "flushMs", 3_600_000L);
+        ReflectionTestUtils.setField(writeBehind, "maxAttempts", 3);
+        writeBehind.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeBehind.shutdown();
+    }
+
+    @Test
+    void flushWritesBufferedRowsOnCallerThread() {
+        writeBehind.enqueue("EXAM01", "32201234", result(3));
+
+        writeBehind.flush("EXAM01");
+
+        assertEquals(3, table.rowsOf("EXAM01", 32201234L));
+        assertEquals(0, sinkBacklog.depth());
+    }
+
+    @Test
+    void transientFailureRequeuesWithoutLosingOrDuplicatingRows() {
+        writeBehind.enqueue("EXAM01", "32201234", result(3));
+        writeBehind.enqueue("EXAM01", "32201235", result(2));
+
+        table.failNext(1);
+        writeBehind.flush("EXAM01");
+        assertEquals(0, table.size());
+        assertEquals(5.0, pendingRows());
+
+        writeBehind.flush("EXAM01");
+        assertEquals(3, table.rowsOf("EXAM01", 32201234L));
+        assertEquals(2, table.rowsOf("EXAM01", 32201235L));
+
+        // Kafka 재전달로 같은 결과가 다시 와도 행이 늘지 않음
+        writeBehind.enqueue("EXAM01", "32201234", result(3));
+        writeBehind.flush("EXAM01");
+        assertEquals(5, table.size());
+        assertEquals(0.0, pendingRows());
+        assertEquals(0, sinkBacklog.depth());
+        // 실패한 flush에 들어 있던 두 학생이 한 번씩 되돌아감
+        assertEquals(2.0, meterRegistry.get("persistence.write-behind.requeued").counter().count());
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        writeBehind.enqueue("EXAM01", "32201234", result(2));
+
+        table.failNext(10);
+        for (int i = 0; i < 3; i++)
+            writeBehind.flush("EXAM01");
+
+        assertEquals(0.0, pendingRows());
+        assertEquals(0, sinkBacklog.depth());
+        assertEquals(1.0, meterRegistry.get("persistence.write-behind.failed").counter().count());
+
+        // 포기한 뒤에는 더 이상 시도하지 않음
+        table.failNext(0);
+        writeBehind.flush("EXAM01");
+        assertEquals(0, table.size());
+    }
+
+    private double pendingRows() {
+        return meterRegistry.get("persistence.write-behind.pending").gauge().value();
+    }
+
+    private static Map<String, Object> result(int questions) {
+        List<Map<String, Object>> answers = new ArrayList<>();
+        for (int q = 1; q <= questions; q++) {
+            answers.add(Map.of("questionNumber", q, "subQuestionNumber", 0, "answerCount", 1,
+                    "recAnswer", Map.of("values", List.of(q % 5 + 1), "confidence", List.of(0.9)), "point", 5));
+        }
+        return Map.of("answers", answers);
+    }
+
+    /**
+     * student_answer 테이블 흉내: DELETE는 (exam_code, student_id) 행 삭제, INSERT는 행 추가
+     * failNext(n): 다음 n번의 flush를 DELETE 단계에서 실패시킴 (부분 반영 없음)
+     */
+    private static class FakeStudentAnswerTable extends JdbcTemplate {
+
+        private final List<Object[]> rows = new ArrayList<>();
+        private int failures;
+
+        void failNext(int count) {
+            failures = count;
+        }
+
+        int size() {
+            return rows.size();
+        }
+
+        int rowsOf(String examCode, long studentId) {
+            return (int) rows.stream().filter(r -> examCode.equals(r[0]) && Long.valueOf(studentId).equals(r[1]))
+                    .count();
+        }
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                ParameterizedPreparedStatementSetter<T> pss) {
+            boolean delete = sql.startsWith("DELETE");
+            if (delete && failures > 0) {
+                failures--;
+                throw new DataAccessResourceFailureException("connection reset");
+            }
+            for (T arg : batchArgs) {
+                Object[] params = bind(pss, arg);
+                if (delete)
+                    rows.removeIf(r -> r[0].equals(params[0]) && r[1].equals(params[1]));
+                else
+                    rows.add(params);
+            }
+            return new int[0][];
+        }
+
+        // setXxx(index, value) 호출을 배열로 받아 둠
+        private static <T> Object[] bind(ParameterizedPreparedStatementSetter<T> pss, T arg) {
+            Map<Integer, Object> values = new HashMap<>();
+            PreparedStatement ps = (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(), new Class<?>[] { PreparedStatement.class },
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("set") && args != null && args.length == 2)
+                            values.put((Integer) args[0], args[1]);
+                        return null;
+                    });
+            try {
+                pss.setValues(ps, arg);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            Object[] params = new Object[values.size()];
+            values.forEach((index, value) -> params[index - 1] = value);
+            return params;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.dankook.mlpa_gradi.service.progress;
+
+import com.dankook.mlpa_gradi.dto.ProgressSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 두 레플리카(노드 A/B)를 embedded Kafka에 붙여, 한 노드의 진행 상태가 다른 노드로 전파되는지 확인
+ */
+@SpringJUnitConfig
+@EmbeddedKafka(partitions = 1, topics = { KafkaProgressStateStoreTest.STATE_TOPIC, KafkaProgressStateStoreTest.EVENT_TOPIC })
+class KafkaProgressStateStoreTest {
+
+    static final String STATE_TOPIC = "test-progress-state";
+    static final String EVENT_TOPIC = "test-progress-events";
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<KafkaProgressStateStore> stores = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        stores.forEach(KafkaProgressStateStore::stop);
+    }
+
+    @Test
+    void snapshotPublishedOnOneNodeReachesTheOther() throws Exception {
+        KafkaProgressStateStore nodeA = startStore("node-a");
+        KafkaProgressStateStore nodeB = startStore("node-b");
+
+        CountDownLatch received = new CountDownLatch(1);
+        AtomicReference<ProgressSnapshot> seen = new AtomicReference<>();
+        nodeB.addListener(snapshot -> {
+            if (snapshot.index() == 3) {
+                seen.set(snapshot);
+                received.countDown();
+            }
+        });
+
+        ProgressSnapshot snapshot = ProgressSnapshot.initial("EXAM01", "중간고사", 10).withProgress(3, 10, "processing");
+        nodeA.publish(snapshot);
+
+        assertTrue(received.await(30, TimeUnit.SECONDS), "node-b should receive node-a's snapshot");
+        assertEquals(snapshot, seen.get());
+        assertEquals(3, nodeB.get("EXAM01").orElseThrow().index());
+    }
+
+    @Test
+    void relayedEventIsNotEchoedToItsOrigin() throws Exception {
+        KafkaProgressStateStore nodeA = startStore("node-a");
+        KafkaProgressStateStore nodeB = startStore("node-b");
+
+        CountDownLatch atB = new CountDownLatch(1);
+        // consumer 스레드에서 기록되므로 thread-safe 컬렉션 사용
+        List<String> atA = new CopyOnWriteArrayList<>();
+        nodeA.addListener(new ProgressStateListener() {
+            @Override
+            public void onSnapshot(ProgressSnapshot snapshot) {
+            }
+
+            @Override
+            public void onEvent(String examCode, String eventName, String json) {
+                atA.add(eventName);
+            }
+        });
+        nodeB.addListener(new ProgressStateListener() {
+            @Override
+            public void onSnapshot(ProgressSnapshot snapshot) {
+            }
+
+            @Override
+            public void onEvent(String examCode, String eventName, String json) {
+                if ("answer_result".equals(eventName))
+                    atB.countDown();
+            }
+        });
+
+        nodeA.publishEvent("EXAM02", "answer_result", "{\"type\":\"answer_result\"}");
+
+        assertTrue(atB.await(30, TimeUnit.SECONDS), "node-b should receive the relayed event");
+        assertTrue(atA.isEmpty(), "origin node must not receive its own event");
+    }
+
+    @Test
+    void restartedNodeWithSameIdRestoresStateFromTopic() throws Exception {
+        KafkaProgressStateStore nodeA = startStore("node-a");
+        KafkaProgressStateStore restarting = startStore("node-r");
+
+        CountDownLatch received = new CountDownLatch(1);
+        restarting.addListener(snapshot -> {
+            if ("EXAM03".equals(snapshot.examCode()))
+                received.countDown();
+        });
+
+        ProgressSnapshot snapshot = ProgressSnapshot.initial("EXAM03", "기말고사", 20).withProgress(7, 20, "processing");
+        nodeA.publish(snapshot);
+        assertTrue(received.await(30, TimeUnit.SECONDS), "node-r should receive the snapshot before restart");
+
+        // 같은 node id(= 같은 hostname)로 재시작
+        restarting.stop();
+        KafkaProgressStateStore restarted = startStore("node-r");
+
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (restarted.get("EXAM03").isEmpty() && System.currentTimeMillis() < deadline)
+            Thread.sleep(100);
+        assertEquals(7, restarted.get("EXAM03").orElseThrow().index());
+    }
+
+    private KafkaProgressStateStore startStore(String nodeId) {
+        Map<String, Object> producerProps = Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        Map<String, Object> consumerProps = Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+        KafkaProgressStateStore store = new KafkaProgressStateStore(
+                new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerProps)),
+                new DefaultKafkaConsumerFactory<>(consumerProps), objectMapper, STATE_TOPIC, EVENT_TOPIC, nodeId);
+        store.start();
+        stores.add(store);
+        return store;
+    }
+}
@@ -0,0 +1,76 @@
+package com.dankook.mlpa_gradi.service.s3;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 병렬 서명: sequential-threshold 이상에서도 입력 순서 유지, 실패한 항목의 예외는 감싸지 않고 그대로 전달
+ * 실제 S3Presigner 대신 가짜 서명 함수로 map()만 검증
+ */
+class ParallelPresignerTest {
+
+    private static final int THRESHOLD = 8;
+
+    private final ParallelPresigner presigner = new ParallelPresigner(null, "bucket", Duration.ofMinutes(10), 4,
+            THRESHOLD);
+
+    @AfterEach
+    void tearDown() {
+        presigner.close();
+    }
+
+    @Test
+    void keepsInputOrderAtOrAboveThreshold() {
+        for (int n : new int[] { THRESHOLD, THRESHOLD + 1, 1000 }) {
+            List<Integer> items = IntStream.range(0, n).boxed().toList();
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+
+            List<String> urls = presigner.map(items, i -> {
+                threads.add(Thread.currentThread().toString());
+                return "https://bucket/" + i;
+            });
+
+            assertEquals(items.stream().map(i -> "https://bucket/" + i).toList(), urls);
+            // 호출 스레드가 아닌 virtual thread에서 서명됨
+            assertTrue(threads.stream().noneMatch(t -> t.equals(Thread.currentThread().toString())));
+        }
+    }
+
+    @Test
+    void signsOnCallerThreadBelowThreshold() {
+        List<Integer> items = IntStream.range(0, THRESHOLD - 1).boxed().toList();
+        Thread caller = Thread.currentThread();
+
+        List<Integer> result = presigner.map(items, i -> {
+            assertSame(caller, Thread.currentThread());
+            return i * 2;
+        });
+
+        assertEquals(items.stream().map(i -> i * 2).toList(), result);
+    }
+
+    @Test
+    void rethrowsFailureUnwrapped() {
+        List<Integer> items = IntStream.range(0, 100).boxed().toList();
+        IllegalStateException failure = new IllegalStateException("bad key 37");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> presigner.map(items, i -> {
+            if (i == 37)
+                throw failure;
+            return "https://bucket/" + i;
+        }));
+
+        assertSame(failure, thrown);
+    }
+}
@@ -0,0 +1,46 @@
+package com.dankook.mlpa_gradi.service.s3;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * POST 정책 SigV4 서명을 AWS 문서의 예제(Example: Browser-Based Upload using HTTP POST, SigV4)와 비교
+ * 날짜/자격 증명/정책이 고정된 공개 예제이므로 서명 키 유도와 서명 계산을 그대로 검증할 수 있음
+ */
+class PresignedPostServiceTest {
+
+    private static final String SECRET_KEY = "wJalrXUtnFEMI/K7MDENG/bPxRfiCYEXAMPLEKEY";
+    private static final String DATE_STAMP = "20151229";
+    private static final String REGION = "us-east-1";
+
+    // 예제의 StringToSign (base64 인코딩된 정책 문서)
+    private static final String ENCODED_POLICY = "eyAiZXhwaXJhdGlvbiI6ICIyMDE1LTEyLTMwVDEyOjAwOjAwLjAwMFoiLA0KICAiY29u"
+            + "ZGl0aW9ucyI6IFsNCiAgICB7ImJ1Y2tldCI6ICJzaWd2NGV4YW1wbGVidWNrZXQifSwNCiAgICBbInN0YXJ0cy13aXRoIiwgIiRr"
+            + "ZXkiLCAidXNlci91c2VyMS8iXSwNCiAgICB7ImFjbCI6ICJwdWJsaWMtcmVhZCJ9LA0KICAgIHsic3VjY2Vzc19hY3Rpb25fcmVk"
+            + "aXJlY3QiOiAiaHR0cDovL3NpZ3Y0ZXhhbXBsZWJ1Y2tldC5zMy5hbWF6b25hd3MuY29tL3N1Y2Nlc3NmdWxfdXBsb2FkLmh0bWwi"
+            + "fSwNCiAgICBbInN0YXJ0cy13aXRoIiwgIiRDb250ZW50LVR5cGUiLCAiaW1hZ2UvIl0sDQogICAgeyJ4LWFtei1tZXRhLXV1aWQi"
+            + "OiAiMTQzNjUxMjM2NTEyNzQifSwNCiAgICB7IngtYW16LXNlcnZlci1zaWRlLWVuY3J5cHRpb24iOiAiQUVTMjU2In0sDQogICAg"
+            + "WyJzdGFydHMtd2l0aCIsICIkeC1hbXotbWV0YS10YWciLCAiIl0sDQoNCiAgICB7IngtYW16LWNyZWRlbnRpYWwiOiAiQUtJQUlP"
+            + "U0ZPRE5ON0VYQU1QTEUvMjAxNTEyMjkvdXMtZWFzdC0xL3MzL2F3czRfcmVxdWVzdCJ9LA0KICAgIHsieC1hbXotYWxnb3JpdGht"
+            + "IjogIkFXUzQtSE1BQy1TSEEyNTYifSwNCiAgICB7IngtYW16LWRhdGUiOiAiMjAxNTEyMjlUMDAwMDAwWiIgfQ0KICBdDQp9";
+
+    private static final String EXPECTED_SIGNATURE = "8afdbf4008c03f22c2cd3cdb72e4afbb1f6a588f3255ac628749a66d7f09699e";
+
+    @Test
+    void signsAwsPublishedPostPolicyExample() {
+        byte[] signingKey = PresignedPostService.signingKey(SECRET_KEY, DATE_STAMP, REGION);
+
+        assertEquals(EXPECTED_SIGNATURE, PresignedPostService.sign(signingKey, ENCODED_POLICY));
+    }
+
+    @Test
+    void rejectsNonImageContentType() {
+        PresignedPostService service = new PresignedPostService(new ObjectMapper());
+
+        assertThrows(IllegalArgumentException.class, () -> service.createUploadPolicy("AI2024MID", "text/html"));
+        assertThrows(IllegalArgumentException.class, () -> service.createUploadPolicy("AI2024MID", "image/svg+xml"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.dankook.mlpa_gradi.service.sse;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Last-Event-ID 리플레이 구간: 링 버퍼 wrap-around, 밀려난 ID, 미래 ID, clear() 이후 ID 단조 증가
+ */
+class SseEventLogTest {
+
+    @Test
+    void replaysEventsAfterLastEventIdAcrossWrapAround() {
+        SseEventLog log = logWith(4, 6); // ID 1..6, 버퍼에는 3..6
+
+        assertEquals(List.of(4L, 5L, 6L), ids(log.since(3)));
+        assertEquals(List.of(3L, 4L, 5L, 6L), ids(log.since(2)));
+        assertEquals("e6", log.since(5).get(0).data());
+    }
+
+    @Test
+    void returnsEmptyWhenClientIsUpToDate() {
+        SseEventLog log = logWith(4, 6);
+
+        assertTrue(log.since(6).isEmpty());
+    }
+
+    @Test
+    void returnsNullWhenRequestedRangeWasEvicted() {
+        SseEventLog log = logWith(4, 6);
+
+        assertNull(log.since(1)); // 2가 이미 밀려남
+        assertNull(log.since(0));
+    }
+
+    @Test
+    void returnsNullForIdFromAnotherSession() {
+        SseEventLog log = logWith(4, 3);
+
+        assertNull(log.since(10));
+    }
+
+    @Test
+    void clearKeepsIdsMonotonicAndForcesResyncForOlderIds() {
+        SseEventLog log = logWith(4, 3);
+        log.clear();
+
+        assertTrue(log.since(3).isEmpty());
+        assertNull(log.since(2));
+
+        SseFrame next = log.append(SseFrame.data("answer_result", "after", null));
+        assertEquals(4L, next.id());
+        assertEquals(4L, log.lastId());
+        assertEquals(List.of(4L), ids(log.since(3)));
+    }
+
+    private static SseEventLog logWith(int capacity, int events) {
+        SseEventLog log = new SseEventLog(capacity);
+        for (int i = 1; i <= events; i++) {
+            log.append(SseFrame.data("answer_result", "e" + i, null));
+        }
+        return log;
+    }
+
+    private static List<Long> ids(List<SseFrame> frames) {
+        return frames.stream().map(SseFrame::id).toList();
+    }
+}
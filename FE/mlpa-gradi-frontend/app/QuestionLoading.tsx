@@ -105,6 +105,12 @@ const QuestionLoading: React.FC<QuestionLoadingProps> = ({
                 const type = payload.type;
                 const data = (type === "connected") ? payload : payload.data;
 
+                // 놓친 이벤트를 리플레이할 수 없으면(resync) 서버 스냅샷 기준으로 상태를 다시 맞춤
+                if (type === "connected" && data.resync) {
+                    console.warn("🔄 SSE resync: replay unavailable, reloading progress");
+                    fetchInitialState();
+                }
+
                 // We expect 'question_recognition_update' or 'recognition_update'
                 if (type === "connected" || type === "question_recognition_update" || type === "recognition_update") {
                     if (data.index !== undefined) setProgressCount(data.index);
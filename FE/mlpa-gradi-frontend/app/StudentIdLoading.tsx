@@ -148,6 +148,12 @@ const StudentIdLoading: React.FC<StudentIdLoadingProps> = ({
                 const data = (type === "connected") ? payload : payload.data;
                 console.log(`✉️ SSE [${type}]:`, data);
 
+                // 놓친 이벤트를 리플레이할 수 없으면(resync) 서버 스냅샷 기준으로 상태를 다시 맞춤
+                if (type === "connected" && data.resync) {
+                    console.warn("🔄 SSE resync: replay unavailable, reloading progress");
+                    fetchInitialState();
+                }
+
                 if (type === "connected" || type === "recognition_update") {
                     if (data.index !== undefined) {
                         console.log(`🔢 Updating studentCount: ${data.index}`);
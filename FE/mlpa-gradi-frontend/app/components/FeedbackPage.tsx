@@ -5,7 +5,9 @@ import { useRouter, useSearchParams } from "next/navigation";
 
 type FeedbackItem = {
     id: string;
-    imageUrl?: string;
+    imageUrl?: string; // 썸네일 (없으면 원본)
+    originalUrl?: string; // 확대 보기용 원본
+    filename?: string;
     value: string;
 };
 
@@ -27,26 +29,21 @@ const FeedbackPage: React.FC<{ examCode?: string }> = ({ examCode = "ND1FHG" })
     useEffect(() => {
         const fetchUnknownImages = async () => {
             try {
-                const response = await fetch(`/api/reports/unknown-images/${examCode}`);
+                const response = await fetch(`/api/reports/unknown-images/${examCode}/review`);
                 if (!response.ok) throw new Error("Failed to fetch");
-                const urls: string[] = await response.json();
+                const images: { filename: string; thumbnailUrl: string; headerUrl?: string | null; originalUrl: string }[] = await response.json();
 
                 const savedDraft = localStorage.getItem(`gradi_draft_${examCode}`);
                 const draftMap = savedDraft ? JSON.parse(savedDraft) : {};
 
-                const initializedItems = urls.map((url, index) => {
-                    // Extract and decode filename for matching with draft
-                    let filename = "unknown.jpg";
-                    try {
-                        const rawFilename = url.split('/').pop()?.split('?')[0] || "unknown.jpg";
-                        filename = decodeURIComponent(rawFilename);
-                    } catch (e) {
-                        filename = url.split('/').pop()?.split('?')[0] || "unknown.jpg";
-                    }
-
+                const initializedItems = images.map((image, index) => {
+                    // 썸네일을 목록에, 원본은 확대 보기에 사용 (초안은 원본 파일명으로 매칭)
+                    const filename = image.filename || "unknown.jpg";
                     return {
                         id: String(index),
-                        imageUrl: url,
+                        imageUrl: image.thumbnailUrl,
+                        originalUrl: image.originalUrl,
+                        filename: filename,
                         value: draftMap[filename] || ""
                     };
                 });
@@ -65,7 +62,9 @@ const FeedbackPage: React.FC<{ examCode?: string }> = ({ examCode = "ND1FHG" })
         if (items.length === 0) return;
 
         const draft = items.reduce((acc, item) => {
-            if (item.imageUrl && item.value) {
+            if (item.filename && item.value) {
+                acc[item.filename] = item.value;
+            } else if (item.imageUrl && item.value) {
                 try {
                     const rawFilename = item.imageUrl.split('/').pop()?.split('?')[0] || "unknown.jpg";
                     const filename = decodeURIComponent(rawFilename);
@@ -220,7 +219,7 @@ const FeedbackPage: React.FC<{ examCode?: string }> = ({ examCode = "ND1FHG" })
                                     onClick={(e) => {
                                         e.stopPropagation();
                                         if (item.imageUrl) {
-                                            setZoomedImage(item.imageUrl);
+                                            setZoomedImage(item.originalUrl || item.imageUrl);
                                             resetZoom();
                                         }
                                     }}
@@ -305,13 +304,7 @@ const FeedbackPage: React.FC<{ examCode?: string }> = ({ examCode = "ND1FHG" })
                             const payload = {
                                 examCode: examCode,
                                 images: items.map(item => {
-                                    let fileName = "unknown.jpg";
-                                    try {
-                                        const rawName = item.imageUrl?.split('/').pop()?.split('?')[0] || "unknown.jpg";
-                                        fileName = decodeURIComponent(rawName);
-                                    } catch {
-                                        fileName = item.imageUrl?.split('/').pop()?.split('?')[0] || "unknown.jpg";
-                                    }
+                                    const fileName = item.filename || "unknown.jpg";
                                     return {
                                         fileName: fileName,
                                         studentId: item.value
@@ -46,6 +46,23 @@ const OthersGradingLoading: React.FC<OthersGradingLoadingProps> = ({
     // SSE Connection
     useEffect(() => {
         let isCancelled = false;
+        // 재연결 시 리플레이가 불가능하면(resync) 현재 진행 상태를 다시 조회
+        const fetchInitialState = async () => {
+            try {
+                const res = await fetch(`/api/storage/progress/${examCode}`);
+                if (res.ok) {
+                    const data = await res.json();
+                    if (!isCancelled) {
+                        if (data.index !== undefined) setProgressCount(data.index);
+                        if (data.total !== undefined && data.total > 0) setTotalCount(data.total);
+                        if (data.status === "completed" && onComplete) onComplete();
+                    }
+                }
+            } catch (err) {
+                console.warn("⚠️ Failed to fetch progress, waiting for SSE...");
+            }
+        };
+
         const eventSource = new EventSource(
             `http://127.0.0.1:8080/api/storage/sse/connect?examCode=${examCode}`
         );
@@ -59,6 +76,12 @@ const OthersGradingLoading: React.FC<OthersGradingLoadingProps> = ({
                 const type = payload.type;
                 const data = (type === "connected") ? payload : payload.data;
 
+                // 놓친 이벤트를 리플레이할 수 없으면(resync) 서버 스냅샷 기준으로 상태를 다시 맞춤
+                if (type === "connected" && data.resync) {
+                    console.warn("🔄 SSE resync: replay unavailable, reloading progress");
+                    fetchInitialState();
+                }
+
                 // Listen for updates or completion
                 if (type === "connected" || type === "grading_update" || type === "recognition_update") {
                     if (data.index !== undefined) setProgressCount(data.index);
@@ -20,19 +20,37 @@ const Landing: React.FC = () => {
     const [deletingCode, setDeletingCode] = useState<string | null>(null);
 
     useEffect(() => {
-        const fetchActiveProcesses = async () => {
+        // 폴링 대신 대시보드 SSE 하나로 전체 목록을 받고 이후 변경분(delta)만 반영
+        const eventSource = examService.connectDashboardSSE();
+        const byCode = new Map<string, ActiveProcess & { version?: number }>();
+        const publish = () => setActiveProcesses(Array.from(byCode.values()));
+
+        eventSource.onmessage = (event) => {
             try {
-                const processes = await examService.getActiveProcesses();
-                setActiveProcesses(processes);
+                const message = JSON.parse(event.data);
+                if (message.type === "dashboard_snapshot") {
+                    byCode.clear();
+                    Object.values(message.data).forEach((p: any) => byCode.set(p.examCode, p));
+                    publish();
+                } else if (message.type === "dashboard_delta") {
+                    Object.entries(message.data.changed ?? {}).forEach(([code, p]: [string, any]) => {
+                        const prev = byCode.get(code);
+                        // 순서가 뒤바뀐 delta는 version으로 무시
+                        if (!prev || (prev.version ?? -1) < p.version) byCode.set(code, p);
+                    });
+                    (message.data.removed ?? []).forEach((code: string) => byCode.delete(code));
+                    publish();
+                }
             } catch (error) {
-                console.error("Failed to fetch active processes:", error);
+                console.error("Failed to parse dashboard event:", error);
             }
         };
+        eventSource.onerror = (error) => {
+            // EventSource가 자동 재연결하며, 재연결 시 dashboard_snapshot을 다시 받음
+            console.error("Dashboard SSE error:", error);
+        };
 
-        fetchActiveProcesses();
-        // Poll every 10 seconds
-        const interval = setInterval(fetchActiveProcesses, 10000);
-        return () => clearInterval(interval);
+        return () => eventSource.close();
     }, []);
 
     return (
@@ -233,6 +233,19 @@ export const uploadImagesStep: SagaStep<ExamSagaContext> = {
         const total = presignedResult.urls.length;
         console.log(`🚀 Starting batch upload: ${total} images for exam ${ctx.examCode}`);
 
+        // ✅ 업로드 완료 알림은 모아서 일괄 전송 (AI가 일찍 시작하도록 일정 개수마다 flush)
+        const COMPLETE_BATCH_SIZE = 25;
+        let pendingComplete: { index: number; filename: string }[] = [];
+        const flushComplete = async () => {
+            if (pendingComplete.length === 0) return;
+            const batch = pendingComplete;
+            pendingComplete = [];
+            const result = await examService.notifyImageUploadCompleteBatch(ctx.examCode!, batch);
+            if (result.failed > 0) {
+                throw new Error(`Failed to notify ${result.failed} image upload(s)`);
+            }
+        };
+
         // 각 파일 업로드
         for (let i = 0; i < presignedResult.urls.length; i++) {
             const urlInfo = presignedResult.urls[i];
@@ -255,13 +268,17 @@ export const uploadImagesStep: SagaStep<ExamSagaContext> = {
                     index: i + 1 // 1-based index
                 });
 
-                // ✅ 업로드 완료 알림 (BE -> Kafka -> AI)
-                await examService.notifyImageUploadComplete(ctx.examCode, file.name, i + 1);
+                // ✅ 업로드 완료 알림 (BE -> Kafka -> AI) - 일괄 전송 대기열에 추가
+                pendingComplete.push({ index: i + 1, filename: file.name });
+                if (pendingComplete.length >= COMPLETE_BATCH_SIZE) {
+                    await flushComplete();
+                }
 
                 // 성공한 이미지 키 저장 (롤백용)
                 ctx.uploadedImageKeys.push(`original/${ctx.examCode}/${urlInfo.index}_${urlInfo.filename}`);
             }
         }
+        await flushComplete();
     },
     async compensate(ctx) {
         // TODO: S3에서 업로드된 이미지 삭제 (현재는 로깅만)
@@ -14,6 +14,17 @@ export interface BatchPresignResponse {
     urls: { index: number; filename: string; url: string }[];
 }
 
+// 시험 전체 업로드용 presigned POST 정책 (서명 1회로 uploads/{examCode}/ 아래 모든 페이지 업로드)
+// Content-Type은 정책마다 하나로 고정되어 fields에 포함됨 (png/jpeg가 섞이면 형식별로 발급)
+export interface UploadPolicyResponse {
+    examCode: string;
+    url: string;
+    keyPrefix: string;
+    fields: Record<string, string>;
+    expiresAt: string;
+    maxFileBytes: number;
+}
+
 export interface ExamCreateResponse {
     examId: number;
     examCode: string;
@@ -54,6 +65,11 @@ export const examService = {
         return eventSource;
     },
 
+    // ✅ 대시보드 SSE 연결 - 모든 시험의 진행 상태를 연결 하나로 수신 (dashboard_snapshot → dashboard_delta)
+    connectDashboardSSE(): EventSource {
+        return new EventSource(`http://127.0.0.1:8080/api/storage/sse/dashboard`);
+    },
+
     // ✅ 배치 Presigned URL 요청
     async getBatchPresignedUrls(data: BatchPresignRequest): Promise<BatchPresignResponse> {
         const response = await fetch(`${API_BASE}/storage/presigned-urls/batch`, {
@@ -98,6 +114,41 @@ export const examService = {
         }
     },
 
+    // ✅ 시험 전체 업로드용 POST 정책 발급 (페이지 수와 무관하게 형식별 1회 호출)
+    async getUploadPolicy(examCode: string, contentType: string = "image/jpeg"): Promise<UploadPolicyResponse> {
+        const query = `examCode=${encodeURIComponent(examCode)}&contentType=${encodeURIComponent(contentType)}`;
+        const response = await fetch(`${API_BASE}/storage/presigned-post?${query}`, {
+            method: "POST",
+        });
+        if (!response.ok) throw new Error("Failed to get upload policy");
+        return response.json();
+    },
+
+    // POST 정책으로 이미지 업로드 (key: {keyPrefix}{index}_{filename}), 업로드한 S3 key 반환
+    // file의 형식은 정책의 Content-Type과 같아야 함
+    async uploadWithPolicy(policy: UploadPolicyResponse, file: File, index: number, filename: string, total?: number): Promise<string> {
+        const key = `${policy.keyPrefix}${index}_${filename}`;
+        const form = new FormData();
+        Object.entries(policy.fields).forEach(([name, value]) => form.append(name, value));
+        form.append("key", key);
+        if (total !== undefined && total !== null) form.append("x-amz-meta-total", total.toString());
+        form.append("x-amz-meta-index", index.toString());
+        // S3는 file 필드 뒤의 필드를 무시하므로 반드시 마지막에 추가
+        form.append("file", file);
+
+        const response = await fetch(policy.url, {
+            method: "POST",
+            body: form,
+        });
+
+        if (!response.ok) {
+            const errorText = await response.text();
+            console.error(`❌ S3 POST Upload Failed: ${response.status} ${response.statusText}`, errorText);
+            throw new Error(`Failed to upload with POST policy: ${response.status}`);
+        }
+        return key;
+    },
+
     // ✅ 시험 삭제 (Code 기반) - 롤백용
     async deleteByCode(examCode: string): Promise<void> {
         const response = await fetch(`${API_BASE}/exams/code/${examCode}`, {
@@ -167,4 +218,15 @@ export const examService = {
         });
         if (!response.ok) throw new Error("Failed to notify image upload complete");
     },
+
+    // ✅ 이미지 업로드 완료 일괄 알림 (여러 페이지를 한 요청으로, 항목별 결과 반환)
+    async notifyImageUploadCompleteBatch(examCode: string, images: { index: number; filename: string }[]): Promise<{ examCode: string; published: number; failed: number; results: { index: number; filename: string; status: string; error?: string }[] }> {
+        const response = await fetch(`${API_BASE}/storage/image/complete/batch`, {
+            method: "POST",
+            headers: { "Content-Type": "application/json" },
+            body: JSON.stringify({ examCode, images }),
+        });
+        if (!response.ok) throw new Error("Failed to notify image upload complete");
+        return response.json();
+    },
 };